@@ -0,0 +1,144 @@
+package com.socket.server;
+
+import com.socket.server.handler.MessageDispatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ChatServer.broadcast 팬아웃 + ClientHandler.isSameRoom
+ * - 클라이언트는 소켓 없는 가짜 전송 계층 (프레임 길이만 더함 → 형식당 인코딩 1번은 포함)
+ * - 1층 A 구독자 clients 명 + 같은 수의 1층 B 구독자 (방 인덱스가 다른 방을 안 훑는지)
+ * - broadcastScan: 방 인덱스 없이 전체 연결을 isSameRoom 으로 거르던 방식 (비교용)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BroadcastBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int clients;
+
+    private ChatServer server;
+    private final List<ClientHandler> all = new ArrayList<>();
+    private final Sink sink = new Sink();
+
+    // isSameRoom 용 (1층 A / 3층 구분 없음)
+    private ClientHandler roomA;
+    private ClientHandler noRoom;
+
+    @Setup
+    public void setUp() {
+        MessageDispatcher dispatcher = new MessageDispatcher(List.of(),
+                new SeatPartitions(new SeatUpdatePublisher(null, null), null, "shared", 10), "platform", 1);
+        server = new ChatServer(dispatcher, 5050, "classic", "platform", 2, 16, 30, 90,
+                256, Set.of("DASHBOARD_UPDATE", "SENSOR_DATA"), Set.of("SEAT_UPDATE"), 15,
+                false, 5, 16384, 0, Set.of("CHAT", "ADMIN_CHAT", "ERROR", "PONG"));
+
+        for (int i = 0; i < clients * 2; i++) {
+            ClientHandler client = server.createHandler(new FakeTransport(sink));
+            server.addClient(client);
+            server.joinRoom(client, 1, i < clients ? "A" : "B", "USER");
+            all.add(client);
+        }
+
+        roomA = server.createHandler(new FakeTransport(sink));
+        roomA.join(1, "A", "bench_a", "USER", null, WireFormat.JSON);
+        noRoom = server.createHandler(new FakeTransport(sink));
+        noRoom.join(3, null, "bench_3", "USER", null, WireFormat.JSON);
+    }
+
+    private static SocketMessage chat() {
+        return SocketMessage.builder().type("CHAT").floor(1).room("A").role("USER").sender("20251234")
+                .msg("오늘 3층 열람실 몇 시까지 열어요?").build();
+    }
+
+    // ─────────────────────── 팬아웃 ───────────────────────
+
+    // 지금 경로: 방 인덱스(ClientRegistry) → 구독자에게 같은 프레임
+    @Benchmark
+    public long broadcast() {
+        server.broadcast(chat(), null);
+        return sink.bytes;
+    }
+
+    // 예전 경로: 전체 연결 × isSameRoom
+    @Benchmark
+    public long broadcastScan() {
+        SocketMessage message = chat();
+        OutboundFrame frame = OutboundFrame.of(message);
+        for (ClientHandler client : all) {
+            if (client.isSameRoom(message.getFloor(), message.getRoom())) {
+                client.sendFrame(frame);
+            }
+        }
+        return sink.bytes;
+    }
+
+    // ─────────────────────── isSameRoom ───────────────────────
+
+    @Benchmark
+    public void isSameRoom(Blackhole bh) {
+        bh.consume(roomA.isSameRoom(1, "A"));      // 같은 방
+        bh.consume(roomA.isSameRoom(1, "B"));      // 같은 층 다른 방
+        bh.consume(roomA.isSameRoom(2, "A"));      // 다른 층
+        bh.consume(noRoom.isSameRoom(3, null));    // 구분 없는 층
+        bh.consume(noRoom.isSameRoom(3, "null"));  // "null" 문자열
+    }
+
+    // 받은 프레임 길이 합 (벤치마크 결과로 반환 → 전송이 최적화로 사라지지 않게)
+    private static final class Sink {
+        long bytes;
+    }
+
+    private static final class FakeTransport implements ClientTransport {
+        private final Sink sink;
+        private final OutboundQueue outbound = new OutboundQueue(new OutboundQueue.Config(256, Set.of(), Set.of()));
+        private WireFormat format = WireFormat.JSON;
+
+        FakeTransport(Sink sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public void send(OutboundFrame frame) {
+            sink.bytes += frame.length(format);
+        }
+
+        @Override
+        public void useFormat(WireFormat format) {
+            this.format = format;
+        }
+
+        @Override
+        public OutboundQueue outbound() {
+            return outbound;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public String remoteAddress() {
+            return "bench";
+        }
+    }
+}
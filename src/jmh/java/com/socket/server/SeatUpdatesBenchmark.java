@@ -0,0 +1,55 @@
+package com.socket.server;
+
+import com.dto.SeatInfoDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// SeatInfoDto → SocketMessage.SeatInfo 변환 (SeatUpdates, 예전에는 ClientHandler / CheckinScheduler 에 따로 있던 것)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SeatUpdatesBenchmark {
+
+    @Param({"1", "60"})
+    public int seats;
+
+    private List<SeatInfoDto> dtoList;
+
+    @Setup
+    public void setUp() {
+        dtoList = SocketMessageCodecBenchmark.seats(seats);
+    }
+
+    // SEAT_UPDATE (JOIN / SEAT_STATUS_REQUEST 스냅샷)
+    @Benchmark
+    public SocketMessage snapshot() {
+        return SeatUpdates.of(1, "A", 42L, dtoList);
+    }
+
+    // SEAT_DELTA (좌석 명령 1건 / 자동 퇴실 묶음)
+    @Benchmark
+    public SocketMessage delta() {
+        return SeatUpdates.delta(1, "A", 43L, dtoList);
+    }
+
+    // 변환 + 브로드캐스트 1번분 JSON 인코딩 (수신자 수와 무관하게 1번)
+    @Benchmark
+    public int snapshotEncoded() {
+        return OutboundFrame.of(SeatUpdates.of(1, "A", 42L, dtoList)).length(WireFormat.JSON);
+    }
+}
@@ -0,0 +1,120 @@
+package com.socket.server;
+
+import com.dto.SeatInfoDto;
+import com.entity.Checkin.SeatStatus;
+import com.google.gson.Gson;
+import com.socket.server.codec.BinaryMessageCodec;
+import com.socket.server.codec.JsonMessageCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// SocketMessage 직렬화 / 역직렬화: new Gson() (리플렉션) ↔ JsonMessageCodec ↔ BinaryMessageCodec
+// payload: CHAT, SENSOR_DATA, 좌석 60개 SEAT_UPDATE
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SocketMessageCodecBenchmark {
+
+    private static final Gson gson = new Gson();
+
+    private final JsonMessageCodec json = new JsonMessageCodec();
+    private final BinaryMessageCodec binary = new BinaryMessageCodec();
+
+    @Param({"CHAT", "SENSOR_DATA", "SEAT_UPDATE"})
+    public String payload;
+
+    private SocketMessage message;
+    private String jsonLine;
+    private byte[] jsonBytes;
+    private byte[] binaryBody;
+
+    @Setup
+    public void setUp() {
+        message = switch (payload) {
+            case "CHAT" -> SocketMessage.builder().type("CHAT").floor(3).role("USER").sender("20251234")
+                    .msg("오늘 3층 열람실 몇 시까지 열어요?").build();
+            case "SENSOR_DATA" -> SocketMessage.builder().type("SENSOR_DATA").floor(1).room("A").role("SENSOR")
+                    .sender("sensor_1A").temp(23.4).co2(612.0).lux(320.5).build();
+            case "SEAT_UPDATE" -> SeatUpdates.of(1, "A", 42L, seats(60));
+            default -> throw new IllegalArgumentException(payload);
+        };
+        jsonLine = gson.toJson(message);
+        jsonBytes = jsonLine.getBytes(StandardCharsets.UTF_8);
+
+        // MAGIC + 길이(varint) 떼기 (FrameDecoder 가 넘겨주는 본문)
+        byte[] frame = binary.encode(message);
+        int pos = 1;
+        while ((frame[pos] & 0x80) != 0) pos++;
+        binaryBody = Arrays.copyOfRange(frame, pos + 1, frame.length);
+    }
+
+    // 좌석 n개 중 1/3 사용 중, 1/5 외출
+    static List<SeatInfoDto> seats(int n) {
+        List<SeatInfoDto> seats = new ArrayList<>(n);
+        for (int i = 1; i <= n; i++) {
+            SeatStatus status = i % 3 == 0 ? SeatStatus.IN_USE : i % 5 == 0 ? SeatStatus.AWAY : SeatStatus.EMPTY;
+            boolean used = status != SeatStatus.EMPTY;
+            seats.add(new SeatInfoDto((long) i, String.valueOf(i), status,
+                    used ? 1000L + i : null, used ? 3600 - i : 0));
+        }
+        return seats;
+    }
+
+    // ─────────────────────── Gson (리플렉션) ───────────────────────
+
+    @Benchmark
+    public String gsonToJson() {
+        return gson.toJson(message);
+    }
+
+    @Benchmark
+    public SocketMessage gsonFromJson() {
+        return gson.fromJson(jsonLine, SocketMessage.class);
+    }
+
+    // ─────────────────────── 서버 코덱 ───────────────────────
+
+    @Benchmark
+    public byte[] jsonCodecEncode() {
+        return json.encode(message);
+    }
+
+    @Benchmark
+    public SocketMessage jsonCodecDecode() {
+        return json.decode(jsonLine);
+    }
+
+    // 소켓에서 읽은 바이트 기준 (UTF-8 디코딩 포함)
+    @Benchmark
+    public SocketMessage jsonCodecDecodeBytes() {
+        return json.decode(jsonBytes);
+    }
+
+    @Benchmark
+    public byte[] binaryCodecEncode() {
+        return binary.encode(message);
+    }
+
+    @Benchmark
+    public SocketMessage binaryCodecDecode() {
+        return binary.decode(binaryBody);
+    }
+}
@@ -0,0 +1,32 @@
+package com.controller;
+
+import com.service.SeatCatalog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 좌석 목록(SeatCatalog) 관리
+ * POST /api/admin/seats/catalog/refresh : seats 테이블을 바꾼 뒤 메모리 목록 다시 읽기
+ * GET  /api/admin/seats/catalog         : 좌석 수 / 조회 지표
+ * (새로 추가된 좌석은 처음 찾을 때 자동으로 들어가므로, 삭제·변경했을 때만 refresh 필요)
+ */
+@RestController
+@RequestMapping("/api/admin/seats/catalog")
+@RequiredArgsConstructor
+public class SeatCatalogController {
+
+    private final SeatCatalog seatCatalog;
+
+    @PostMapping("/refresh")
+    public SeatCatalog.Stats refresh() {
+        return seatCatalog.refresh();
+    }
+
+    @GetMapping
+    public SeatCatalog.Stats stats() {
+        return seatCatalog.getStats();
+    }
+}
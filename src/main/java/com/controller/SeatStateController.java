@@ -0,0 +1,30 @@
+package com.controller;
+
+import com.dto.SeatInfoDto;
+import com.socket.server.SeatUpdatePublisher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 좌석 점유 상태(SeatStateEngine) 관리
+ * POST /api/admin/seats/state/reload?floor=1&room=A : checkins 를 DB 에서 직접 고친 뒤 방 하나를 다시 읽기
+ * (room 은 3,4,6층이면 생략, 다시 읽은 상태는 같은 방 클라이언트에게 SEAT_UPDATE 로 나감)
+ */
+@RestController
+@RequestMapping("/api/admin/seats/state")
+@RequiredArgsConstructor
+public class SeatStateController {
+
+    private final SeatUpdatePublisher seatUpdatePublisher;
+
+    @PostMapping("/reload")
+    public List<SeatInfoDto> reload(@RequestParam int floor,
+                                    @RequestParam(required = false) String room) {
+        return seatUpdatePublisher.reload(floor, room);
+    }
+}
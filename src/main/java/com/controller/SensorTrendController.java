@@ -0,0 +1,40 @@
+package com.controller;
+
+import com.dto.SensorTrendPointDto;
+import com.entity.SensorRollup;
+import com.service.SensorRollupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 센서 추이 조회 (대시보드 그래프용)
+ * GET /api/sensors/trend?floor=1&room=A&resolution=minute&last=60
+ * - room 은 3,4,6층이면 생략
+ * - resolution: minute / hour, last: 최근 몇 개 구간 (최대 1440)
+ */
+@RestController
+@RequestMapping("/api/sensors")
+@RequiredArgsConstructor
+public class SensorTrendController {
+
+    private static final int MAX_POINTS = 1440;
+
+    private final SensorRollupService sensorRollupService;
+
+    @GetMapping("/trend")
+    public List<SensorTrendPointDto> trend(@RequestParam int floor,
+                                           @RequestParam(required = false) String room,
+                                           @RequestParam(defaultValue = "minute") String resolution,
+                                           @RequestParam(defaultValue = "60") int last) {
+
+        String roomKey = (room == null || room.isBlank()) ? null : room.toUpperCase();
+        SensorRollup.Resolution res = SensorRollup.Resolution.valueOf(resolution.toUpperCase());
+
+        return sensorRollupService.getTrend(floor, roomKey, res, Math.min(last, MAX_POINTS));
+    }
+}
@@ -0,0 +1,17 @@
+package com.dto;
+// 정규화된 (층, 방) 키 — 구독 인덱스, 좌석 상태, 센서 스냅샷 / 집계, 좌석 파티션이 같이 씀
+
+/**
+ * - room 이 null / 공백 / "null" 이면 "room 구분 없는 층"(3,4,6층)으로 보고 null 로 통일
+ * → ClientHandler.isSameRoom() 과 같은 기준
+ * 항상 of() 로 만들 것 (생성자로 만들면 "null" 과 null 이 다른 키가 됨)
+ */
+public record RoomKey(int floor, String room) {
+
+    public static RoomKey of(int floor, String room) {
+        boolean noRoom = (room == null
+                || room.isBlank()
+                || "null".equalsIgnoreCase(room));
+        return new RoomKey(floor, noRoom ? null : room);
+    }
+}
@@ -0,0 +1,23 @@
+package com.dto;
+// 좌석 1개 + 그 좌석의 퇴실 안 한 체크인 (SeatRepository 프로젝션 조회 결과, 빈 좌석이면 체크인 쪽 필드가 null)
+
+import com.entity.Checkin;
+import com.entity.User;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class SeatStatusRow {
+    private Long seatId;
+    private int floor;
+    private User.RoomType room;                 // 3,4,6층이면 null
+    private String seatNumber;
+    private Long checkinId;                     // 빈 좌석이면 null
+    private Long userId;
+    private Checkin.CheckinStatus status;
+    private LocalDateTime checkinTime;
+    private LocalDateTime awayStartedAt;
+}
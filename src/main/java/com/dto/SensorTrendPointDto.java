@@ -0,0 +1,27 @@
+package com.dto;
+// 센서 추이 1구간 (1분 / 1시간 집계)
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class SensorTrendPointDto {
+    private LocalDateTime bucketStart;   // 구간 시작 시각
+    private int count;                   // 구간 안의 측정 횟수
+
+    // 값이 하나도 없던 항목은 null
+    private Double tempAvg;
+    private Float tempMin;
+    private Float tempMax;
+
+    private Double co2Avg;
+    private Float co2Min;
+    private Float co2Max;
+
+    private Double luxAvg;
+    private Float luxMin;
+    private Float luxMax;
+}
@@ -7,7 +7,11 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "checkins")
+@Table(
+        name = "checkins",
+        // 좌석별 퇴실 안 한 체크인 찾기 (SeatRepository 좌석 상태 조회의 LEFT JOIN 조건)
+        indexes = @Index(name = "idx_checkins_seat_checkout", columnList = "seat_id, checkout_time")
+)
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
@@ -81,11 +85,6 @@ public class Checkin {
         this.awayStartedAt = null;
     }
 
-    //체크아웃 했을 때의 메서드
-    public void checkout() {
-        this.checkoutTime = LocalDateTime.now();
-    }
-
     // 새 체크인 세션 시작(기존 row 재사용도 이 메서드로 처리)
     public void startNewSession() {
         this.status = CheckinStatus.IN_USE;
@@ -0,0 +1,85 @@
+package com.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * (floor, room) 별 센서 집계 1구간 (1분 / 1시간)
+ * - 평균은 sum / count 로 계산 (같은 구간을 나눠 저장해도 더해서 합칠 수 있도록 sum 으로 보관)
+ * - room 은 유니크 키에 들어가서 NULL 대신 "" (3,4,6층 공용)
+ */
+@Entity
+@Table(
+        name = "sensor_rollups",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_sensor_rollup_bucket",
+                columnNames = {"resolution", "floor", "room", "bucket_start"}
+        )
+)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class SensorRollup {
+
+    public enum Resolution {
+        MINUTE(60_000L),
+        HOUR(3_600_000L);
+
+        private final long millis;
+
+        Resolution(long millis) {
+            this.millis = millis;
+        }
+
+        public long millis() {
+            return millis;
+        }
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Resolution resolution;
+
+    @Column(nullable = false)
+    private int floor;
+
+    @Column(nullable = false, length = 10)
+    private String room;
+
+    @Column(name = "bucket_start", nullable = false, columnDefinition = "DATETIME")
+    private LocalDateTime bucketStart;
+
+    @Column(name = "temp_count", nullable = false)
+    private int tempCount;
+    @Column(name = "temp_sum", nullable = false)
+    private double tempSum;
+    @Column(name = "temp_min")
+    private Float tempMin;
+    @Column(name = "temp_max")
+    private Float tempMax;
+
+    @Column(name = "co2_count", nullable = false)
+    private int co2Count;
+    @Column(name = "co2_sum", nullable = false)
+    private double co2Sum;
+    @Column(name = "co2_min")
+    private Float co2Min;
+    @Column(name = "co2_max")
+    private Float co2Max;
+
+    @Column(name = "lux_count", nullable = false)
+    private int luxCount;
+    @Column(name = "lux_sum", nullable = false)
+    private double luxSum;
+    @Column(name = "lux_min")
+    private Float luxMin;
+    @Column(name = "lux_max")
+    private Float luxMax;
+}
@@ -4,37 +4,32 @@ import com.entity.Checkin;
 import com.entity.Seat;
 import com.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.Collection;
 import java.util.Optional;
 
 public interface CheckinRepository extends JpaRepository<Checkin, Long> {
-    // 특정 좌석의 현재 사용 중 row (퇴실 안된 것)
-    Optional<Checkin> findFirstBySeatAndCheckoutTimeIsNullOrderByCheckinTimeDesc(Seat seat);
-
-    // 특정 유저가 아직 퇴실하지 않은 row (방에서 중복 체크인 방지용 – 필요하면 사용)
-    Optional<Checkin> findFirstByUserAndCheckoutTimeIsNullOrderByCheckinTimeDesc(User user);
-
-    // room 단위 좌석 상태 계산용
-    List<Checkin> findBySeat_FloorAndSeat_RoomAndCheckoutTimeIsNull(int floor, User.RoomType room);
-
-    // AWAY + 1시간 지난 row 자동 퇴실용
-    List<Checkin> findByStatusAndCheckoutTimeIsNullAndAwayStartedAtBefore(
-            Checkin.CheckinStatus status,
-            LocalDateTime awayStartedAtBefore
-    );
-
     //마지막 체크인 조회 메서드
     Optional<Checkin> findFirstByUserAndSeatOrderByCheckinTimeDesc(User user, Seat seat);
 
-    // room 구분 없는 층용 (3,4,6층 등)
-    List<Checkin> findBySeat_FloorAndCheckoutTimeIsNull(int floor);
-
-    // 4시간 이상 사용 중인 좌석 찾기
-    List<Checkin> findByStatusAndCheckoutTimeIsNullAndCheckinTimeBefore(
-            Checkin.CheckinStatus status,
-            LocalDateTime checkinTimeBefore
-    );
-
-}
\ No newline at end of file
+    // 외출 시작 / 복귀 (SeatStateEngine 이 메모리에 있는 id 로 바로 UPDATE)
+    @Modifying
+    @Query("update Checkin c set c.status = :status, c.awayStartedAt = :awayStartedAt where c.id = :id")
+    int updateStatus(@Param("id") long id,
+                     @Param("status") Checkin.CheckinStatus status,
+                     @Param("awayStartedAt") LocalDateTime awayStartedAt);
+
+    // 퇴실
+    @Modifying
+    @Query("update Checkin c set c.checkoutTime = :checkoutTime where c.id = :id and c.checkoutTime is null")
+    int checkoutById(@Param("id") long id, @Param("checkoutTime") LocalDateTime checkoutTime);
+
+    // 자동 퇴실: 마감이 지난 체크인 여러 개를 UPDATE 1번으로 (이미 퇴실한 행은 그대로)
+    @Modifying
+    @Query("update Checkin c set c.checkoutTime = :checkoutTime where c.id in :ids and c.checkoutTime is null")
+    int checkoutAllById(@Param("ids") Collection<Long> ids, @Param("checkoutTime") LocalDateTime checkoutTime);
+}
@@ -1,13 +1,27 @@
 package com.repository;
 
+import com.dto.SeatStatusRow;
 import com.entity.Seat;
 import com.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface SeatRepository extends JpaRepository<Seat, Long> {
 
+    /*
+     좌석 + 퇴실 안 한 체크인을 LEFT JOIN 해서 한 번에 (엔티티/지연 로딩 없이 평평한 행으로)
+     - 빈 좌석도 1행씩 나옴
+     - checkins(seat_id, checkout_time) 인덱스로 좌석마다 바로 찾음
+     - 같은 좌석에 퇴실 안 한 체크인이 여러 개인 옛 데이터는 입실 순서대로 여러 행
+     */
+    String SEAT_STATUS_SELECT = "select new com.dto.SeatStatusRow("
+            + "s.id, s.floor, s.room, s.seatNumber, c.id, c.user.id, c.status, c.checkinTime, c.awayStartedAt)"
+            + " from Seat s left join Checkin c on c.seat = s and c.checkoutTime is null";
+
     // 1, 2, 5층 같이 A/B 구역이 있는 층
     Optional<Seat> findByFloorAndRoomAndSeatNumber(
             int floor,
@@ -20,4 +34,16 @@ public interface SeatRepository extends JpaRepository<Seat, Long> {
             int floor,
             String seatNumber
     );
+
+    // 전체 좌석 상태 (SeatStateEngine 기동 시 1번)
+    @Query(SEAT_STATUS_SELECT + " order by s.id, c.checkinTime")
+    List<SeatStatusRow> findAllSeatStatusRows();
+
+    // 1, 2, 5층 방 하나
+    @Query(SEAT_STATUS_SELECT + " where s.floor = :floor and s.room = :room order by s.id, c.checkinTime")
+    List<SeatStatusRow> findSeatStatusRows(@Param("floor") int floor, @Param("room") User.RoomType room);
+
+    // 3, 4, 6층 (room IS NULL)
+    @Query(SEAT_STATUS_SELECT + " where s.floor = :floor and s.room is null order by s.id, c.checkinTime")
+    List<SeatStatusRow> findSeatStatusRowsWithoutRoom(@Param("floor") int floor);
 }
@@ -0,0 +1,7 @@
+package com.repository;
+
+import com.entity.SensorReading;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface SensorReadingRepository extends JpaRepository<SensorReading, Long> {
+}
@@ -0,0 +1,14 @@
+package com.repository;
+
+import com.entity.SensorRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface SensorRollupRepository extends JpaRepository<SensorRollup, Long> {
+
+    // 추이 조회 (room 은 공용 층이면 "")
+    List<SensorRollup> findByResolutionAndFloorAndRoomAndBucketStartGreaterThanEqualOrderByBucketStart(
+            SensorRollup.Resolution resolution, int floor, String room, LocalDateTime from);
+}
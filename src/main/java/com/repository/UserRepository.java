@@ -3,6 +3,8 @@ package com.repository;
 import com.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -14,4 +16,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
     //LoginId 칼럼으로 사용자 찾는 함수
     Optional<User> findByLoginId(String loginId);
 
+    // 여러 LoginId 한 번에 (채팅 write-behind batch)
+    List<User> findByLoginIdIn(Collection<String> loginIds);
+
 }
\ No newline at end of file
@@ -1,63 +1,58 @@
 package com.scheduler;
 
 
-import com.dto.SeatUpdateDto;
-import com.google.gson.Gson;
 import com.service.CheckinService;
-import com.socket.server.ChatServer;
-import com.socket.server.SocketMessage;
+import com.service.SeatStateEngine;
+import com.socket.server.SeatUpdatePublisher;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
-
 @Component
 @RequiredArgsConstructor
 public class CheckinScheduler {
 
     private final CheckinService checkinService;
-    private final ChatServer chatServer;
+    private final SeatUpdatePublisher seatUpdatePublisher;
+
+    private Thread worker;
 
     /**
-     * 1분마다 AWAY 상태 좌석을 스캔해서
-     * 1시간 지난 경우 자동 CHECKOUT 후 SEAT_UPDATE 전송.
+     * 외출 1시간 / 사용 4시간이 지난 좌석을 자동 CHECKOUT 후 SEAT_DELTA 전송.
      *
-     * fixedDelay = 60000 -> 이전 실행 끝난 후 60초 뒤에 다시 실행
-     * 테스트 때는 10000(10초) 정도로 줄여도 됨.
+     * 예전처럼 10초마다 checkins 를 조회하지 않고,
+     * 전용 스레드가 가장 빠른 마감 시각까지 기다렸다가 그 시각에 바로 처리한다.
+     * (마감 타이머는 SeatStateEngine 이 입실/외출/복귀/퇴실 때 관리)
      */
-    @Scheduled(fixedDelay = 10000)
-    public void autoCheckoutAwaySeats() {
-
-        // 1) 자동 checkout + 방별 좌석 상태 목록 가져오기
-        List<SeatUpdateDto> updates = checkinService.autoCheckoutAndBuildSeatUpdates();
-
-        // 2) 각 room마다 SEAT_UPDATE 메시지 만들어 브로드캐스트
-        for (SeatUpdateDto update : updates){
-
-            // SeatInfoDto -> SocketMessage.SeatInfo 변환
-            List<SocketMessage.SeatInfo> seatInfos = update.getSeats().stream()
-                    .map(dto -> SocketMessage.SeatInfo.builder()
-                            .seatNo(Integer.parseInt(dto.getSeatNo()))
-                            .state(dto.getStatus().name())
-                            .userId(dto.getUserId() != null ? String.valueOf(dto.getUserId()) : null)
-                            .remainSeconds(dto.getRemainSeconds())
-                            .build()
-                    )
-                    .toList();
-
-            SocketMessage msg = SocketMessage.builder()
-                    .type("SEAT_UPDATE")
-                    .floor(update.getFloor())
-                    .room(update.getRoom())
-                    .role("SYSTEM")
-                    .sender("SYSTEM")
-                    .seats(seatInfos)
-                    .build();
-
-
-            // 같은 room의 클라이언트들에게 전송
-            chatServer.broadcast(msg, null);
+    @PostConstruct
+    public void start() {
+        worker = new Thread(this::run, "seat-expiry");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        worker.interrupt();
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                // 1) 마감 지난 좌석 자동 checkout (방별 트랜잭션 커밋까지)
+                for (SeatStateEngine.Expired expired : checkinService.awaitExpired()) {
+
+                    // 2) 각 room마다 퇴실된 좌석만 SEAT_DELTA 로 브로드캐스트
+                    System.out.println("[AUTO_CHECKOUT] floor=" + expired.floor() + ", room=" + expired.room()
+                            + ", seats=" + expired.seats().size());
+                    seatUpdatePublisher.publishDelta(expired.floor(), expired.room(), expired.seats());
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (Exception e) {
+                System.out.println("[ERROR] 자동 퇴실 처리 중 예외 발생: " + e.getMessage());
+            }
         }
     }
 }
@@ -15,16 +15,15 @@ public class ChatMessageService {
 
     private final ChatMessageRepository chatMessageRepository;
     private final UserRepository userRepository;
+    private final UserIdentityCache identityCache;
 
+    // 1건씩 바로 저장 (채팅 경로는 ChatWriteBehindService 로 묶어서 저장)
     @Transactional
     public void saveChat(SocketMessage msg) {
 
-        // 1. sender(login_id)로 User 조회
-        User user = null;
-        if (msg.getSender() != null) {
-            user = userRepository.findByLoginId(msg.getSender())
-                    .orElse(null); // 못 찾으면 null 허용
-        }
+        // 1. sender(login_id)로 사용자 찾기 (캐시 → 없으면 DB), 엔티티는 id 참조만
+        UserIdentity sender = identityCache.byLoginId(msg.getSender()).orElse(null); // 못 찾으면 null 허용
+        User user = (sender != null) ? userRepository.getReferenceById(sender.id()) : null;
 
         // 2. room 문자열 -> ENUM 변환
         User.RoomType roomType = null;
@@ -47,7 +46,7 @@ public class ChatMessageService {
         }
 
         // 4. username을 nickname으로 사용
-        String nickname = (user != null) ? user.getUsername() : msg.getSender();
+        String nickname = (sender != null) ? sender.username() : msg.getSender();
 
         // 5. floor 처리
         int floor = (msg.getFloor() != null) ? msg.getFloor() : 0;
@@ -0,0 +1,470 @@
+package com.service;
+
+import com.entity.User;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.socket.server.SocketMessage;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 채팅 DB 저장 write-behind 파이프라인
+ * - ChatHandler 는 브로드캐스트 후 enqueue() 만 하고 바로 돌아감 (읽는 스레드가 MySQL 왕복을 기다리지 않음)
+ * - 백그라운드 writer 1개가 대기열에서 batch-size 개까지 / 첫 건 이후 linger-ms 동안 모아
+ *   sender 조회 1번 + 여러 행 INSERT 1번으로 저장
+ * - 대기열이 가득 찼거나 DB 쓰기가 실패하면 overflow 정책대로 처리
+ *   SPILL : spill-file 에 JSON 한 줄씩 적어 두고, writer 가 한가할 때 다시 DB 로 옮김
+ *           (한가한 1초마다 replay-max-batches 개까지, DB 가 또 실패하면 거기서 멈추고 다음에 이어서)
+ *   DROP  : 버리고 개수만 기록
+ * - 종료 시 남은 대기열을 shutdown-flush-ms 안에 저장, 못 하면 정책대로 spill / drop
+ */
+@Slf4j
+@Service
+public class ChatWriteBehindService {
+
+    public enum Overflow { SPILL, DROP }
+
+    // DB 쓰기 실패 후 다음 시도까지 쉬는 시간 (그동안 들어온 채팅은 대기열에 쌓임)
+    private static final long FAILURE_BACKOFF_MILLIS = 1000;
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO chat_messages (floor, room, role, nickname, user_id, message, created_at) VALUES ";
+    private static final String INSERT_ROW = "(?, ?, ?, ?, ?, ?, ?)";
+
+    private static final Gson gson = new Gson();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserIdentityCache identityCache;
+    private final BlockingQueue<PendingChat> queue;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final Overflow overflow;
+    private final Path spillFile;
+    private final Path replayFile;
+    private final Path replayOffsetFile;
+    private final int replayMaxBatches;
+    private final long shutdownFlushMillis;
+
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    private final Object spillLock = new Object();
+    private BufferedWriter spillWriter;           // spillLock
+    private long replayOffset = -1;               // writer 스레드만: .replaying 에서 DB 로 옮긴 바이트 (-1 이면 아직 안 읽음)
+
+    // 지표
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder persisted = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder failedBatches = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder spilled = new LongAdder();
+    private final LongAdder replayed = new LongAdder();
+    private final LongAccumulator maxLagMillis = new LongAccumulator(Math::max, 0);
+    private volatile long lastLagMillis;
+
+    public ChatWriteBehindService(JdbcTemplate jdbcTemplate,
+                                  UserIdentityCache identityCache,
+                                  @Value("${chat.server.persist.queue-capacity:10000}") int queueCapacity,
+                                  @Value("${chat.server.persist.batch-size:200}") int batchSize,
+                                  @Value("${chat.server.persist.linger-ms:50}") long lingerMillis,
+                                  @Value("${chat.server.persist.overflow:spill}") String overflow,
+                                  @Value("${chat.server.persist.spill-file:chat-spill.jsonl}") String spillFile,
+                                  @Value("${chat.server.persist.replay-max-batches:10}") int replayMaxBatches,
+                                  @Value("${chat.server.persist.shutdown-flush-ms:5000}") long shutdownFlushMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.identityCache = identityCache;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = Math.max(1, batchSize);
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+        this.overflow = Overflow.valueOf(overflow.trim().toUpperCase());
+        this.spillFile = Paths.get(spillFile);
+        this.replayFile = Paths.get(spillFile + ".replaying");
+        this.replayOffsetFile = Paths.get(spillFile + ".replaying.offset");
+        this.replayMaxBatches = Math.max(1, replayMaxBatches);
+        this.shutdownFlushMillis = shutdownFlushMillis;
+
+        this.writer = new Thread(this::runWriter, "chat-db-writer");
+        this.writer.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start() {
+        writer.start();
+        log.info("[CHAT-DB] write-behind 시작 (batch={}, linger={}ms, 대기열={}, overflow={})",
+                batchSize, TimeUnit.NANOSECONDS.toMillis(lingerNanos), queue.remainingCapacity(), overflow);
+    }
+
+    /**
+     * 브로드캐스트가 끝난 CHAT / ADMIN_CHAT 을 저장 대기열에 넣는다 (블로킹 없음)
+     * - msg 는 다른 수신자에게 나간 프레임과 공유되므로 필요한 값만 복사해 둔다
+     * - sender 가 세션 사용자(JOIN 때 확인)와 같으면 user_id / nickname 을 여기서 바로 채움
+     */
+    public void enqueue(SocketMessage msg, UserIdentity sessionUser) {
+        if (msg.getMsg() == null || msg.getSender() == null) {
+            System.out.println("[WARN] 내용/보낸 사람 없는 채팅은 저장 안 함: " + msg.getType());
+            return;
+        }
+
+        UserIdentity user = (sessionUser != null && sessionUser.loginId().equals(msg.getSender()))
+                ? sessionUser : null;
+
+        PendingChat chat = new PendingChat(
+                msg.getFloor() != null ? msg.getFloor() : 0,
+                toEnumName(msg.getRoom(), User.RoomType.class, "room"),
+                toEnumName(msg.getRole(), User.RoleType.class, "role"),
+                msg.getSender(),
+                user != null ? user.id() : null,
+                user != null ? user.username() : null,
+                msg.getMsg(),
+                System.currentTimeMillis());
+
+        enqueued.increment();
+        if (!running || !queue.offer(chat)) {
+            overflow(List.of(chat));
+        }
+    }
+
+    // ChatMessageService 와 같은 규칙: 대소문자 무시, 모르는 값이면 null
+    private static <E extends Enum<E>> String toEnumName(String value, Class<E> type, String field) {
+        if (value == null) return null;
+        try {
+            return Enum.valueOf(type, value.toUpperCase()).name();
+        } catch (IllegalArgumentException e) {
+            System.out.println("[WARN] Invalid " + field + ": " + value);
+            return null;
+        }
+    }
+
+    // ─────────────────────── writer 스레드 ───────────────────────
+
+    private void runWriter() {
+        List<PendingChat> batch = new ArrayList<>(batchSize);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingChat first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    // 한가할 때 spill 파일을 DB 로 옮김 (DB 가 아직 안 되면 첫 batch 에서 멈추고 다음에 이어서)
+                    if (running) replaySpill();
+                    continue;
+                }
+
+                batch.add(first);
+                queue.drainTo(batch, batchSize - batch.size());
+
+                // 첫 건 이후 linger 동안 더 모아서 한 번에
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < batchSize) {
+                    long left = deadline - System.nanoTime();
+                    if (left <= 0) break;
+                    PendingChat next = queue.poll(left, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                    queue.drainTo(batch, batchSize - batch.size());
+                }
+
+                if (!write(batch)) {
+                    overflow(batch);
+                    Thread.sleep(FAILURE_BACKOFF_MILLIS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // 성공하면 true, 실패하면 지표만 남기고 false (호출한 쪽에서 spill / drop)
+    private boolean write(List<PendingChat> chats) {
+        try {
+            insert(chats);
+            batches.increment();
+            persisted.add(chats.size());
+            return true;
+        } catch (RuntimeException e) {
+            failedBatches.increment();
+            log.warn("[CHAT-DB] 채팅 {}건 저장 실패 ({}): {}", chats.size(), overflow, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 여러 행 INSERT 1번
+     * - IDENTITY 키라 JPA saveAll 로는 batch 가 안 되어서 JdbcTemplate 로 직접 작성
+     * - 컬럼 의미는 ChatMessageService.saveChat 과 동일 (nickname = username, 못 찾으면 sender)
+     * - 사용자는 대부분 enqueue 때 세션에서 채워져 있고, 나머지만 캐시에서 한 번에 찾음
+     */
+    private void insert(List<PendingChat> chats) {
+        Map<String, UserIdentity> senders = findSenders(chats);
+
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + chats.size() * (INSERT_ROW.length() + 2))
+                .append(INSERT_PREFIX);
+        Object[] args = new Object[chats.size() * 7];
+        int i = 0;
+
+        for (PendingChat chat : chats) {
+            if (i > 0) sql.append(", ");
+            sql.append(INSERT_ROW);
+
+            UserIdentity sender = chat.userId() == null ? senders.get(chat.sender()) : null;
+            args[i++] = chat.floor();
+            args[i++] = chat.room();
+            args[i++] = chat.role();
+            args[i++] = chat.userId() != null ? chat.nickname() : sender != null ? sender.username() : chat.sender();
+            args[i++] = chat.userId() != null ? chat.userId() : sender != null ? sender.id() : null;
+            args[i++] = chat.message();
+            args[i++] = LocalDateTime.ofInstant(Instant.ofEpochMilli(chat.createdAt()), ZoneId.systemDefault());
+        }
+
+        jdbcTemplate.update(sql.toString(), args);
+
+        long lag = System.currentTimeMillis() - chats.get(0).createdAt();
+        lastLagMillis = lag;
+        maxLagMillis.accumulate(lag);
+    }
+
+    private Map<String, UserIdentity> findSenders(List<PendingChat> chats) {
+        Set<String> loginIds = new HashSet<>();
+        for (PendingChat chat : chats) {
+            if (chat.userId() == null) loginIds.add(chat.sender());
+        }
+        return loginIds.isEmpty() ? Map.of() : identityCache.byLoginIds(loginIds);
+    }
+
+    // ─────────────────────── overflow (spill / drop) ───────────────────────
+
+    private void overflow(List<PendingChat> chats) {
+        if (overflow == Overflow.DROP) {
+            dropped.add(chats.size());
+            return;
+        }
+
+        synchronized (spillLock) {
+            try {
+                if (spillWriter == null) {
+                    spillWriter = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+                            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                }
+                for (PendingChat chat : chats) {
+                    spillWriter.write(gson.toJson(chat));
+                    spillWriter.newLine();
+                }
+                spillWriter.flush();
+                spilled.add(chats.size());
+            } catch (IOException e) {
+                dropped.add(chats.size());
+                log.warn("[CHAT-DB] spill 파일 쓰기 실패, 채팅 {}건 버림: {}", chats.size(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * spill 파일 → DB (writer 스레드가 한가할 때 1번에 replay-max-batches 개까지)
+     * - 파일을 .replaying 으로 옮긴 뒤 읽어서, 그동안 새로 spill 되는 건 새 파일에 쌓이게 함
+     * - batch 가 저장될 때마다 읽은 위치(바이트)를 .replaying.offset 에 적어 두고 다음엔 거기서부터
+     * - DB 가 또 실패하면 그 batch 부터 파일에 그대로 두고 멈춤 (메모리에 모으거나 파일을 다시 쓰지 않음)
+     * - 저장 직후 offset 을 적기 전에 프로세스가 죽으면 그 batch 1개는 다음 기동 때 중복 저장될 수 있음
+     */
+    private void replaySpill() {
+        synchronized (spillLock) {
+            try {
+                if (!Files.exists(replayFile)) {
+                    if (!Files.exists(spillFile)) return;
+                    if (spillWriter != null) {
+                        spillWriter.close();
+                        spillWriter = null;
+                    }
+                    Files.move(spillFile, replayFile, StandardCopyOption.REPLACE_EXISTING);
+                    saveReplayOffset(0);
+                }
+            } catch (IOException e) {
+                log.warn("[CHAT-DB] spill 파일 준비 실패: {}", e.getMessage());
+                return;
+            }
+        }
+
+        try (FileChannel channel = FileChannel.open(replayFile, StandardOpenOption.READ)) {
+            if (replayOffset < 0) replayOffset = loadReplayOffset();
+            if (replayOffset > channel.size()) {
+                log.warn("[CHAT-DB] spill offset {} 이 파일 크기 {} 보다 큼, 처음부터 다시", replayOffset, channel.size());
+                replayOffset = 0;
+            }
+
+            InputStream in = new BufferedInputStream(Channels.newInputStream(channel.position(replayOffset)));
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            List<PendingChat> batch = new ArrayList<>(batchSize);
+            long offset = replayOffset;
+
+            for (int n = 0; n < replayMaxBatches; n++) {
+                // batchSize 개 또는 파일 끝까지
+                int read;
+                while (batch.size() < batchSize && (read = readLine(in, line)) > 0) {
+                    offset += read;
+                    PendingChat chat = parse(line);
+                    if (chat != null) batch.add(chat);
+                }
+
+                if (batch.isEmpty()) {
+                    // 끝까지 옮김 (잘못된 줄만 남아 있던 경우 포함)
+                    finishReplay();
+                    return;
+                }
+                if (!write(batch)) {
+                    return;   // offset 그대로 → 다음 한가한 때 이 batch 부터
+                }
+
+                replayed.add(batch.size());
+                batch.clear();
+                saveReplayOffset(offset);
+            }
+        } catch (IOException e) {
+            log.warn("[CHAT-DB] spill 파일 읽기 실패: {}", e.getMessage());
+        }
+    }
+
+    // 줄 하나 읽기 (줄바꿈 포함 읽은 바이트 수, 파일 끝이면 0)
+    private static int readLine(InputStream in, ByteArrayOutputStream line) throws IOException {
+        line.reset();
+        int read = 0;
+        int b;
+        while ((b = in.read()) != -1) {
+            read++;
+            if (b == '\n') break;
+            line.write(b);
+        }
+        return read;
+    }
+
+    private PendingChat parse(ByteArrayOutputStream line) {
+        String json = line.toString(StandardCharsets.UTF_8);
+        if (json.isBlank()) return null;
+        try {
+            return gson.fromJson(json, PendingChat.class);
+        } catch (JsonParseException e) {
+            dropped.increment();
+            log.warn("[CHAT-DB] spill 파일의 잘못된 줄 건너뜀: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void finishReplay() {
+        try {
+            Files.deleteIfExists(replayFile);
+            Files.deleteIfExists(replayOffsetFile);
+        } catch (IOException e) {
+            log.warn("[CHAT-DB] spill 파일 삭제 실패: {}", e.getMessage());
+        }
+        replayOffset = 0;
+    }
+
+    private long loadReplayOffset() {
+        try {
+            return Files.exists(replayOffsetFile) ? Long.parseLong(Files.readString(replayOffsetFile).trim()) : 0;
+        } catch (IOException | NumberFormatException e) {
+            log.warn("[CHAT-DB] spill offset 읽기 실패, 처음부터 다시: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    private void saveReplayOffset(long offset) {
+        replayOffset = offset;
+        try {
+            Files.writeString(replayOffsetFile, Long.toString(offset));
+        } catch (IOException e) {
+            // 메모리의 위치로는 계속 이어감 (재기동 때만 중복 가능)
+            log.warn("[CHAT-DB] spill offset 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    // ─────────────────────── 종료 / 지표 ───────────────────────
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        writer.join(shutdownFlushMillis);
+
+        // 제한 시간 안에 못 끝낸 나머지는 정책대로
+        List<PendingChat> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        if (!rest.isEmpty()) {
+            log.warn("[CHAT-DB] 종료 시 저장 못 한 채팅 {}건 → {}", rest.size(), overflow);
+            overflow(rest);
+        }
+
+        synchronized (spillLock) {
+            if (spillWriter != null) {
+                try {
+                    spillWriter.close();
+                } catch (IOException ignored) {
+                }
+                spillWriter = null;
+            }
+        }
+        log.info("[CHAT-DB] write-behind 종료: {}", getStats());
+    }
+
+    public Stats getStats() {
+        PendingChat oldest = queue.peek();
+        long batchCount = batches.sum();
+        long persistedCount = persisted.sum();
+        return new Stats(queue.size(),
+                oldest == null ? 0 : System.currentTimeMillis() - oldest.createdAt(),
+                enqueued.sum(), persistedCount, replayed.sum(), spilled.sum(), dropped.sum(),
+                batchCount, failedBatches.sum(),
+                batchCount == 0 ? 0 : persistedCount / batchCount,
+                lastLagMillis, maxLagMillis.get());
+    }
+
+    /**
+     * - pending / oldestPendingMillis : 지금 대기열 길이 / 가장 오래 기다린 채팅의 대기 시간
+     * - persisted : DB 에 저장된 전체 건수 (spill 파일에서 옮긴 replayed 포함)
+     * - lastLagMillis / maxLagMillis  : 채팅 도착 ~ DB 저장 완료까지 걸린 시간 (마지막 batch / 최대)
+     */
+    public record Stats(int pending, long oldestPendingMillis, long enqueued, long persisted, long replayed,
+                        long spilled, long dropped, long batches, long failedBatches, long avgBatchSize,
+                        long lastLagMillis, long maxLagMillis) { }
+
+    @Scheduled(fixedDelay = 60000)
+    public void logStats() {
+        log.info("[CHAT-DB] write-behind: {}", getStats());
+    }
+
+    // 대기열 / spill 파일 한 줄 (spill 파일은 Gson 으로 그대로 직렬화)
+    record PendingChat(int floor, String room, String role, String sender, Long userId, String nickname,
+                       String message, long createdAt) { }
+}
@@ -1,306 +1,86 @@
 package com.service;
 
 import com.dto.SeatInfoDto;
-import com.dto.SeatUpdateDto;
-import com.entity.Checkin;
-import com.entity.Checkin.CheckinStatus;
 import com.entity.Checkin.SeatStatus;
 import com.entity.Seat;
-import com.entity.User;
-import com.exception.AlreadyCheckedInException;
-import com.repository.CheckinRepository;
-import com.repository.SeatRepository;
-import com.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.List;
 
+/**
+ * 좌석 명령 / 조회 진입점
+ * 좌석 점유 상태와 checkins 쓰기는 SeatStateEngine 이 맡는다 (메모리 기준 + DB write-through).
+ * 트랜잭션도 SeatStateEngine 안에서 명령마다 열고 닫음 → 여기서 바깥 트랜잭션을 열지 않는다
+ * (바깥에서 열면 메모리 반영이 커밋보다 먼저 일어남)
+ */
 @Service
 @RequiredArgsConstructor
-@Transactional
 @Slf4j
 
 public class CheckinService {
 
-    private final CheckinRepository checkinRepository;
-    private final UserRepository userRepository;
-    private final SeatRepository seatRepository;
-
-    // 사용 가능 총 시간(시간 단위)
-    private static final int MAX_USE_HOURS = 4;
-    // 외출 허용 시간(시간 단위)
-    private static final int AWAY_LIMIT_HOURS = 1;
+    private final SeatCatalog seatCatalog;
+    private final SeatStateEngine seatStateEngine;
 
 
     //----공통 함수----
+    // seats 는 거의 안 바뀌어서 SeatCatalog(메모리)에서 바로 찾음
     private Seat getSeat(int floor, String room, int seatNo) {
-
-        String seatNumber = String.valueOf(seatNo);
-
-        // 로그 찍어서 지금 실제로 뭐가 들어오는지도 확인
-        log.info("[getSeat] floor={}, room='{}', seatNo={}", floor, room, seatNo);
-
-        // 3,4,6층 같이 room 구분이 없는 경우 (room = null 이나 공백)
-        if (room == null || room.isBlank()) {
-            return seatRepository.findByFloorAndSeatNumber(floor, seatNumber)
-                    .orElseThrow(() -> new IllegalArgumentException("좌석을 찾을 수 없습니다."));
-        }
-
-        // 1,2,5층 A/B 구역 있는 경우
-        User.RoomType roomType = User.RoomType.valueOf(room);  // "A" / "B"
-
-        return seatRepository.findByFloorAndRoomAndSeatNumber(floor, roomType, seatNumber)
-                .orElseThrow(() -> new IllegalArgumentException("좌석을 찾을 수 없습니다."));
-    }
-
-
-    private Checkin getActiveCheckin(Seat seat) {
-        return checkinRepository
-                .findFirstBySeatAndCheckoutTimeIsNullOrderByCheckinTimeDesc(seat)
-                .orElseThrow(() -> new IllegalStateException("현재 사용 중인 좌석이 아닙니다."));
+        log.debug("[getSeat] floor={}, room='{}', seatNo={}", floor, room, seatNo);
+        return seatCatalog.get(floor, room, seatNo);
     }
 
     // CHECKIN
-    public void checkin(int floor, String room, int seatNo, String userId) {
-
-        User user = userRepository.findById(Long.parseLong(userId))
-                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
-
-        Seat seat = getSeat(floor, room, seatNo);
-
-        //사용자가 이미 체크인한 좌석이 있다면
-        var existingOpt =
-                checkinRepository.findFirstByUserAndCheckoutTimeIsNullOrderByCheckinTimeDesc(user);
-
-        if (existingOpt.isPresent()) {
-            throw new AlreadyCheckedInException("이미 이용중인 좌석이 있습니다.");
-        }
-
-
-        // 해당 좌석에 누군가 앉아있을 경우 예외처리
-        checkinRepository.findFirstBySeatAndCheckoutTimeIsNullOrderByCheckinTimeDesc(seat)
-                .ifPresent(active -> {
-                    throw new IllegalStateException("이미 사용중인 좌석입니다.");
-                });
-
-        // 같은 user + seat 의 마지막 row를 가져와서 재사용할지 결정
-        Optional<Checkin> lastOpt =
-                checkinRepository.findFirstByUserAndSeatOrderByCheckinTimeDesc(user, seat);
-
-        Checkin checkin;
-        if (lastOpt.isPresent()) {
-
-            // 기존 row 재사용 (id 그대로 유지)
-            checkin = lastOpt.get();
-            checkin.startNewSession();     // 상태/시간만 다시 세팅
-        } else {
-            // 없는 경우에만 새 row 생성
-            checkin = Checkin.builder()
-                    .user(user)
-                    .seat(seat)
-                    .build();
-            checkin.startNewSession();
-            checkinRepository.save(checkin);
-        }
+    // 사용자는 세션(JOIN)에서 이미 확인된 identity → users 조회 없이 id 로 참조만 만든다
+    // 반환: 바뀐 좌석 1개 (SEAT_DELTA 용, 아래 명령들도 동일)
+    public SeatInfoDto checkin(int floor, String room, int seatNo, UserIdentity identity) {
+        return seatStateEngine.checkin(getSeat(floor, room, seatNo), identity.id());
     }
 
     // AWAY_START
-    public void startAway(int floor, String room, int seatNo, String userId) {
-
-        Seat seat = getSeat(floor, room, seatNo);
-
-        Checkin checkin = checkinRepository
-                .findFirstBySeatAndCheckoutTimeIsNullOrderByCheckinTimeDesc(seat)
-                .orElseThrow(() -> new IllegalStateException("현재 사용 중인 좌석이 아닙니다."));
-
-        // 본인 좌석인지 확인
-        if (!checkin.getUser().getId().equals(Long.parseLong(userId))) {
-            throw new IllegalStateException("이 좌석의 사용자가 아닙니다.");
-        }
-
-        checkin.startAway();
+    public SeatInfoDto startAway(int floor, String room, int seatNo, String userId) {
+        return seatStateEngine.startAway(getSeat(floor, room, seatNo), Long.parseLong(userId));
     }
 
     //AWAY_BACK
-    public void backFromAway(int floor, String room, int seatNo, String userId) {
-
-        Seat seat = getSeat(floor, room, seatNo);
-
-        Checkin checkin = checkinRepository
-                .findFirstBySeatAndCheckoutTimeIsNullOrderByCheckinTimeDesc(seat)
-                .orElseThrow(() -> new IllegalStateException("현재 사용 중인 좌석이 아닙니다."));
-
-        if (!checkin.getUser().getId().equals(Long.parseLong(userId))) {
-            throw new IllegalStateException("이 좌석의 사용자가 아닙니다.");
-        }
-
-        checkin.backFromAway();
+    public SeatInfoDto backFromAway(int floor, String room, int seatNo, String userId) {
+        return seatStateEngine.backFromAway(getSeat(floor, room, seatNo), Long.parseLong(userId));
     }
 
     // CHECKOUT
-    public void checkout(int floor, String room, int seatNo, String userId) {
-
-        Seat seat = getSeat(floor, room, seatNo);
-
-        Checkin checkin = checkinRepository
-                .findFirstBySeatAndCheckoutTimeIsNullOrderByCheckinTimeDesc(seat)
-                .orElseThrow(() -> new IllegalStateException("현재 사용 중인 좌석이 아닙니다."));
-
-        if (!checkin.getUser().getId().equals(Long.parseLong(userId))) {
-            throw new IllegalStateException("이 좌석의 사용자가 아닙니다.");
-        }
-
-        checkin.checkout();
+    public SeatInfoDto checkout(int floor, String room, int seatNo, String userId) {
+        return seatStateEngine.checkout(getSeat(floor, room, seatNo), Long.parseLong(userId));
     }
 
 
     //좌석 상태 1개 계산 (Seat 기준)
-    @Transactional(readOnly = true)
     public SeatStatus getSeatStatus(Seat seat) {
-        return checkinRepository
-                .findFirstBySeatAndCheckoutTimeIsNullOrderByCheckinTimeDesc(seat)
-                .map(c -> c.getStatus() == CheckinStatus.AWAY ? SeatStatus.AWAY : SeatStatus.IN_USE)
-                .orElse(SeatStatus.EMPTY);
+        return seatStateEngine.statusOf(seat);
     }
 
-    // room 기준 좌석 상태 목록 (SEAT_UPDATE에서 사용)
-    @Transactional(readOnly = true)
-    public List<SeatInfoDto> getSeatStatusesByRoom(int floor, String room) {
-
-        List<Checkin> active;
-
-        // 6층처럼 room 없는 층
-        if (room == null || room.isBlank()) {
-            active = checkinRepository.findBySeat_FloorAndCheckoutTimeIsNull(floor);
-        } else {
-            User.RoomType roomType = User.RoomType.valueOf(room); // "A","B"
-            active = checkinRepository
-                    .findBySeat_FloorAndSeat_RoomAndCheckoutTimeIsNull(floor, roomType);
-        }
-
-        // seat 별 최신 체크인만 남기기
-        Map<Long, Checkin> latestBySeatId = new HashMap<>();
-        for (Checkin c : active) {
-            Long seatId = c.getSeat().getId();
-            Checkin prev = latestBySeatId.get(seatId);
-            if (prev == null || prev.getCheckinTime().isBefore(c.getCheckinTime())) {
-                latestBySeatId.put(seatId, c);
-            }
-        }
-
-        return latestBySeatId.values().stream()
-                .map(c -> {
-                    Seat seat = c.getSeat();
-                    SeatStatus seatStatus =
-                            (c.getStatus() == CheckinStatus.AWAY)
-                                    ? SeatStatus.AWAY
-                                    : SeatStatus.IN_USE;
-
-                    // 남은 시간 계산 (필요 없으면 0으로 둬도 됨)
-                    int remainSeconds = 0;
-                    if (seatStatus == SeatStatus.IN_USE) {
-                        // 총 사용시간 4시간 기준
-                        var end = c.getCheckinTime().plusHours(MAX_USE_HOURS);
-                        remainSeconds = (int) java.time.Duration
-                                .between(LocalDateTime.now(), end)
-                                .getSeconds();
-                        if (remainSeconds < 0) remainSeconds = 0;
-                    } else if (seatStatus == SeatStatus.AWAY && c.getAwayStartedAt() != null) {
-                        // 외출은 여전히 1시간 기준
-                        var end = c.getAwayStartedAt().plusHours(AWAY_LIMIT_HOURS);
-                        remainSeconds = (int) java.time.Duration
-                                .between(LocalDateTime.now(), end)
-                                .getSeconds();
-                        if (remainSeconds < 0) remainSeconds = 0;
-                    }
+    // 좌석이 있는 방인지 (SeatPartitions 가 없는 방으로 파티션을 만들지 않도록)
+    public boolean hasRoom(int floor, String room) {
+        return seatStateEngine.hasRoom(floor, room);
+    }
 
+    // room 기준 좌석 상태 목록 (SEAT_UPDATE에서 사용, 빈 좌석 포함) — 메모리에서 바로
+    public List<SeatInfoDto> getSeatStatusesByRoom(int floor, String room) {
+        return seatStateEngine.seatStatuses(floor, room);
+    }
 
-                    return new SeatInfoDto(
-                            seat.getId(),
-                            seat.getSeatNumber(),
-                            seatStatus,
-                            c.getUser().getId(),
-                            remainSeconds
-                    );
-                })
-                .collect(Collectors.toList());
+    // 관리자 요청: 방 하나를 DB(checkins) 기준으로 다시 채우고 좌석 상태 목록 반환
+    public List<SeatInfoDto> reloadRoom(int floor, String room) {
+        return seatStateEngine.reloadRoom(floor, room);
     }
 
 
     /**
-     * AWAY 상태에서 기준 시간 지난 체크인들을 자동으로 checkout 처리하고,
-     * 층/room 별로 최신 좌석 상태 목록을 묶어서 반환한다.
+     * 외출 1시간 / 사용 4시간 마감이 지난 체크인이 생길 때까지 기다렸다가 자동으로 checkout 처리하고,
+     * 방별로 퇴실된 좌석을 반환한다. (CheckinScheduler 의 전용 스레드가 계속 호출)
      */
-    public List<SeatUpdateDto> autoCheckoutAndBuildSeatUpdates() {
-
-        LocalDateTime now = LocalDateTime.now();
-
-        // 외출 1시간 초과
-        LocalDateTime awayThreshold = now.minusHours(AWAY_LIMIT_HOURS);
-
-        var outdatedAway = checkinRepository
-                .findByStatusAndCheckoutTimeIsNullAndAwayStartedAtBefore(
-                        CheckinStatus.AWAY,
-                        awayThreshold
-                );
-
-        // 사용 4시간 초과
-        LocalDateTime useThreshold = now.minusHours(MAX_USE_HOURS);
-
-        var outdatedUse = checkinRepository
-                .findByStatusAndCheckoutTimeIsNullAndCheckinTimeBefore(
-                        CheckinStatus.IN_USE,
-                        useThreshold
-                );
-
-        // 두 리스트 합치기 (중복 방지를 위해 Set 사용)
-        Set<Checkin> outdated = new HashSet<>();
-        outdated.addAll(outdatedAway);
-        outdated.addAll(outdatedUse);
-
-        // 영향을 받은 (floor, room)을 key 로 저장
-        Set<String> affectedRooms = new HashSet<>();
-        for (Checkin c : outdated) {
-            c.checkout(); // 실제 퇴실 처리
-
-            Integer floor = c.getSeat().getFloor();
-            User.RoomType roomType = c.getSeat().getRoom(); // null일 수도 있음
-
-            // room이 없으면 빈 문자열로
-            String roomKey = (roomType == null ? "" : roomType.name());
-
-            String key = floor + "|" + roomKey;
-            affectedRooms.add(key);
-        }
-
-
-        // 이하 기존 로직 동일
-        List<SeatUpdateDto> result = new ArrayList<>();
-        for (String key : affectedRooms) {
-            String[] parts = key.split("\\|");
-            int floor = Integer.parseInt(parts[0]);
-
-            String roomPart = parts.length > 1 ? parts[1] : null;
-
-            // "" 이나 null 이면 "room 구분 없음" 으로 처리
-            String room = (roomPart == null || roomPart.isBlank()) ? null : roomPart;
-
-            List<SeatInfoDto> seats = getSeatStatusesByRoom(floor, room);
-
-            result.add(
-                    SeatUpdateDto.builder()
-                            .floor(floor)
-                            .room(room)   // 여기서는 실제 null 들어감 (3/4/6층)
-                            .seats(seats)
-                            .build()
-            );
-        }
-
-        return result;
+    public List<SeatStateEngine.Expired> awaitExpired() throws InterruptedException {
+        return seatStateEngine.awaitExpired();
     }
 }
@@ -0,0 +1,172 @@
+package com.service;
+
+import com.entity.Seat;
+import com.entity.User;
+import com.repository.SeatRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * seats 테이블 전체를 메모리에 들고 있는 좌석 목록 (좌석 명령마다 하던 seats 조회를 없앰)
+ * - 키: (floor, room, seatNo) 를 int 1개로 → floor 7bit | room 4bit | seatNo 20bit (항상 0 이상)
+ *   room 은 0 = 구분 없음(3,4,6층), 1 = A, 2 = B (User.RoomType 순서 + 1)
+ * - 키 → Seat 는 int 배열 2개로 된 open addressing 표 (박싱 / 문자열 키 없음)
+ * - 표는 통째로 만들어서 바꿔 끼움 (읽는 쪽은 락 없음)
+ * - 갱신: 관리자 요청(refresh) 또는 표에 없는 좌석을 찾을 때 DB 에서 1번 확인 후 있으면 추가
+ * seat_number 가 숫자가 아니거나 범위 밖인 좌석은 번호로 찾을 일이 없어서 표에 넣지 않음
+ */
+@Slf4j
+@Service
+public class SeatCatalog {
+
+    private static final int MAX_FLOOR = (1 << 7) - 1;
+    private static final int MAX_SEAT_NO = (1 << 20) - 1;
+
+    private final SeatRepository seatRepository;
+
+    private volatile Table table = Table.of(List.of());
+
+    // 지표
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public SeatCatalog(SeatRepository seatRepository) {
+        this.seatRepository = seatRepository;
+    }
+
+    @PostConstruct
+    public void load() {
+        refresh();
+    }
+
+    // 관리자 요청 / 좌석 추가·삭제 후 호출: seats 전체를 다시 읽어 표 교체
+    public synchronized Stats refresh() {
+        long started = System.nanoTime();
+        table = Table.of(seatRepository.findAll());
+
+        log.info("[SEAT-CATALOG] 좌석 {}개 불러옴 ({}ms)", table.size(),
+                (System.nanoTime() - started) / 1_000_000);
+        return getStats();
+    }
+
+    /**
+     * @param room "A"/"B" 또는 null/공백 (3,4,6층)
+     * @throws IllegalArgumentException 좌석이 없을 때 (room 값이 잘못된 경우 포함)
+     */
+    public Seat get(int floor, String room, int seatNo) {
+        User.RoomType roomType = (room == null || room.isBlank()) ? null : User.RoomType.valueOf(room);
+
+        Seat seat = table.get(key(floor, roomType, seatNo));
+        if (seat != null) {
+            hits.increment();
+            return seat;
+        }
+
+        misses.increment();
+        return findAndAdd(floor, roomType, seatNo)
+                .orElseThrow(() -> new IllegalArgumentException("좌석을 찾을 수 없습니다."));
+    }
+
+    // 표에 없으면 DB 확인 (기동 후 추가된 좌석) → 있으면 표에 추가
+    private synchronized Optional<Seat> findAndAdd(int floor, User.RoomType roomType, int seatNo) {
+        Seat cached = table.get(key(floor, roomType, seatNo));
+        if (cached != null) return Optional.of(cached);
+
+        String seatNumber = String.valueOf(seatNo);
+        Optional<Seat> found = roomType == null
+                ? seatRepository.findByFloorAndSeatNumber(floor, seatNumber)
+                : seatRepository.findByFloorAndRoomAndSeatNumber(floor, roomType, seatNumber);
+
+        found.ifPresent(seat -> {
+            List<Seat> seats = new ArrayList<>(table.seats());
+            seats.add(seat);
+            table = Table.of(seats);
+            log.info("[SEAT-CATALOG] 새 좌석 추가: floor={}, room={}, seatNo={}", floor, roomType, seatNo);
+        });
+        return found;
+    }
+
+    // 범위 밖이면 -1 (표에 없는 키)
+    static int key(int floor, User.RoomType roomType, int seatNo) {
+        if (floor < 0 || floor > MAX_FLOOR || seatNo < 0 || seatNo > MAX_SEAT_NO) return -1;
+        int roomCode = roomType == null ? 0 : roomType.ordinal() + 1;
+        return floor << 24 | roomCode << 20 | seatNo;
+    }
+
+    public Stats getStats() {
+        return new Stats(table.size(), hits.sum(), misses.sum());
+    }
+
+    // misses : 표에 없어서 DB 까지 간 횟수
+    public record Stats(int seats, long hits, long misses) { }
+
+    /**
+     * int 키 → Seat (선형 탐사, 크기는 좌석 수 2배 이상의 2의 거듭제곱)
+     * refs[i] = seats 인덱스 + 1 (0 = 빈 칸)
+     */
+    private record Table(int[] keys, int[] refs, Seat[] entries, int mask) {
+
+        static Table of(List<Seat> seats) {
+            List<Seat> indexed = new ArrayList<>(seats.size());
+            List<Integer> indexedKeys = new ArrayList<>(seats.size());
+            for (Seat seat : seats) {
+                int k = keyOf(seat);
+                if (k >= 0) {
+                    indexed.add(seat);
+                    indexedKeys.add(k);
+                }
+            }
+
+            int capacity = Integer.highestOneBit(Math.max(4, indexed.size() * 2 - 1)) << 1;
+            int[] keys = new int[capacity];
+            int[] refs = new int[capacity];
+            int mask = capacity - 1;
+
+            for (int n = 0; n < indexed.size(); n++) {
+                int k = indexedKeys.get(n);
+                int i = mix(k) & mask;
+                while (refs[i] != 0 && keys[i] != k) i = (i + 1) & mask;
+                keys[i] = k;
+                refs[i] = n + 1;   // 같은 키가 또 나오면 나중 것으로 덮음
+            }
+            return new Table(keys, refs, indexed.toArray(new Seat[0]), mask);
+        }
+
+        Seat get(int key) {
+            if (key < 0) return null;
+            for (int i = mix(key) & mask; refs[i] != 0; i = (i + 1) & mask) {
+                if (keys[i] == key) return entries[refs[i] - 1];
+            }
+            return null;
+        }
+
+        int size() {
+            return entries.length;
+        }
+
+        List<Seat> seats() {
+            return Arrays.asList(entries);
+        }
+
+        // seat_number 가 숫자가 아니면 -1
+        private static int keyOf(Seat seat) {
+            try {
+                return key(seat.getFloor(), seat.getRoom(), Integer.parseInt(seat.getSeatNumber()));
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+
+        private static int mix(int key) {
+            int h = key * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
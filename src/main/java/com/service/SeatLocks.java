@@ -0,0 +1,62 @@
+package com.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 좌석 id → 잠금 (SeatStateEngine 전용)
+ * - 좌석마다 잠금을 만들지 않고 고정 개수(2의 거듭제곱)의 ReentrantLock 에 좌석 id 를 나눠 담음
+ * - 같은 좌석 명령은 줄을 서고, 다른 좌석은 같은 방이어도 병렬 (같은 칸에 걸린 좌석끼리만 잠깐 대기)
+ * - 여러 좌석을 한 번에 잡을 때(lockAll)는 칸 번호 오름차순 → 명령(1칸)과 섞여도 교착 없음
+ */
+final class SeatLocks {
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    SeatLocks(int stripes) {
+        if (stripes <= 0 || Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("stripes 는 2의 거듭제곱이어야 합니다: " + stripes);
+        }
+        this.stripes = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.mask = stripes - 1;
+    }
+
+    ReentrantLock of(long seatId) {
+        return stripes[index(seatId)];
+    }
+
+    // 잡은 순서대로 반환 (unlockAll 로 풀기)
+    List<ReentrantLock> lockAll(long[] seatIds, int count) {
+        int[] indexes = new int[count];
+        for (int i = 0; i < count; i++) {
+            indexes[i] = index(seatIds[i]);
+        }
+        Arrays.sort(indexes);
+
+        List<ReentrantLock> held = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            if (i > 0 && indexes[i] == indexes[i - 1]) continue;
+            ReentrantLock lock = stripes[indexes[i]];
+            lock.lock();
+            held.add(lock);
+        }
+        return held;
+    }
+
+    static void unlockAll(List<ReentrantLock> held) {
+        for (int i = held.size() - 1; i >= 0; i--) {
+            held.get(i).unlock();
+        }
+    }
+
+    private int index(long seatId) {
+        long h = seatId * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
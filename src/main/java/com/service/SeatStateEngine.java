@@ -0,0 +1,632 @@
+package com.service;
+
+import com.dto.RoomKey;
+import com.dto.SeatInfoDto;
+import com.dto.SeatStatusRow;
+import com.entity.Checkin;
+import com.entity.Checkin.CheckinStatus;
+import com.entity.Checkin.SeatStatus;
+import com.entity.Seat;
+import com.entity.User;
+import com.exception.AlreadyCheckedInException;
+import com.repository.CheckinRepository;
+import com.repository.SeatRepository;
+import com.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongConsumer;
+
+/**
+ * 좌석 점유 상태 (서버 메모리가 기준, DB 는 같은 내용을 따라 씀)
+ * - 기동 시 좌석 전체 + 퇴실 안 한 checkins 를 쿼리 1번(SeatRepository 프로젝션)으로 읽어서 채움 → 재시작해도 DB 에서 그대로 복구
+ *   방 하나만 DB 기준으로 다시 맞출 때는 reloadRoom (관리자 요청)
+ * - (floor, room) 마다 좌석 순서(slot)로 된 배열: 상태 / 사용자 id / checkin id / 입실 시각 / 마감 시각
+ *   → 좌석 상태 조회, "이미 사용 중" / "본인 좌석인지" 확인은 DB 를 보지 않음
+ * - 변경은 좌석 잠금(SeatLocks) 안에서 DB 트랜잭션 먼저 → 성공하면 배열 반영 (실패하면 메모리는 그대로)
+ *   같은 좌석 명령만 줄을 서고 같은 방의 다른 좌석은 DB 쓰기까지 병렬
+ *   방 락(RoomSeats)은 배열을 읽고 쓰는 짧은 구간에만 (DB 호출 중에는 잡지 않음)
+ *   UPDATE 는 메모리에 있는 checkin id 로 바로 (좌석/사용자로 다시 찾지 않음)
+ * - 사용자당 1좌석은 seatByUser 에 먼저 putIfAbsent 로 자리를 잡아서 확인 (사용자 쪽 잠금 대신, 다른 방에서 동시에 와도 1건만 통과)
+ * - 잠금 순서: 좌석 잠금 → 방 락 (반대로 잡는 곳 없음)
+ * - 자동 퇴실: 좌석마다 마감 시각 타이머 1개를 DelayQueue 에 넣어 둠 (입실 / 외출 / 복귀 때 새로, 퇴실 때 취소)
+ *   취소는 RoomSeats.timers[slot] 만 비움 (DelayQueue.remove 는 큐 전체를 훑으므로 안 씀)
+ *   → 취소된 타이머는 큐에 남았다가 마감 시각에 꺼내질 때 버려짐 (큐 크기는 최근 4시간 동안 만든 타이머 수 이하)
+ *   → 주기적으로 훑지 않고 마감 시각이 되는 순간 awaitExpired() 가 깨어나서 처리, 기동 시 복구하면서 다시 채움
+ * checkins 를 이 클래스 밖에서 직접 바꾸면 재시작 전까지 메모리와 달라지므로 좌석 변경은 여기로만.
+ */
+@Slf4j
+@Service
+public class SeatStateEngine {
+
+    // 사용 가능 총 시간
+    static final long MAX_USE_MILLIS = TimeUnit.HOURS.toMillis(4);
+    // 외출 허용 시간
+    static final long AWAY_LIMIT_MILLIS = TimeUnit.HOURS.toMillis(1);
+    // 자동 퇴실 DB 쓰기 실패 시 다시 시도까지
+    private static final long EXPIRY_RETRY_MILLIS = TimeUnit.SECONDS.toMillis(10);
+    // 자동 퇴실 UPDATE 1번에 넣는 checkin id 최대 개수 (IN 목록 길이)
+    private static final int EXPIRY_BATCH_SIZE = 1000;
+    // 좌석 잠금 칸 수
+    private static final int LOCK_STRIPES = 1024;
+
+    // 상태 코드 (배열에 byte 로 저장, 인덱스 = 코드)
+    private static final byte EMPTY = 0;
+    private static final byte IN_USE = 1;
+    private static final byte AWAY = 2;
+    private static final SeatStatus[] STATUSES = {SeatStatus.EMPTY, SeatStatus.IN_USE, SeatStatus.AWAY};
+
+    private final CheckinRepository checkinRepository;
+    private final SeatRepository seatRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<RoomKey, RoomSeats> rooms = new ConcurrentHashMap<>();
+    private final Map<Long, RoomSeats> roomBySeatId = new ConcurrentHashMap<>();
+    // 사용 중(또는 체크인 처리 중)인 사용자 → 좌석 id
+    private final Map<Long, Long> seatByUser = new ConcurrentHashMap<>();
+    // 마감 타이머 (좌석당 살아 있는 건 RoomSeats.timers 에 있는 1개, 나머지는 취소되어 꺼낼 때 버릴 것)
+    private final DelayQueue<Timer> deadlines = new DelayQueue<>();
+    private final SeatLocks seatLocks = new SeatLocks(LOCK_STRIPES);
+
+    public SeatStateEngine(CheckinRepository checkinRepository,
+                           SeatRepository seatRepository,
+                           UserRepository userRepository,
+                           TransactionTemplate transactionTemplate) {
+        this.checkinRepository = checkinRepository;
+        this.seatRepository = seatRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    // ─────────────────────── 기동 시 복구 ───────────────────────
+
+    @PostConstruct
+    public void load() {
+        long started = System.nanoTime();
+        int duplicated = 0;
+
+        // 아직 요청을 받기 전이라 락 없이 채움
+        for (SeatStatusRow row : occupiedFirst(registerAll(seatRepository.findAllSeatStatusRows()))) {
+            if (!restore(roomBySeatId.get(row.getSeatId()), row, true)) duplicated++;
+        }
+
+        log.info("[SEAT-STATE] 좌석 {}개 ({}개 방), 사용 중 {}석 불러옴, 마감 타이머 {}개 ({}ms)",
+                roomBySeatId.size(), rooms.size(), seatByUser.size(), deadlines.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        if (duplicated > 0) {
+            log.warn("[SEAT-STATE] 같은 좌석/사용자에 퇴실 안 한 체크인이 겹친 {}건은 최근 것만 사용", duplicated);
+        }
+    }
+
+    /**
+     * 방 하나를 DB(checkins) 기준으로 다시 채움 (DB 를 직접 고친 뒤 관리자 요청으로)
+     * - 방의 좌석 잠금을 모두 잡고 (진행 중인 명령이 끝나길 기다림) 사용 중 좌석을 비운 뒤 (타이머 취소) 프로젝션 조회 결과로 다시 채움
+     * - 다른 방에 앉아 있거나 체크인 처리 중인 사용자의 행은 건너뜀 (다른 방은 건드리지 않음)
+     * @return 다시 채운 뒤 방의 사용 중 / 외출 좌석 목록
+     */
+    public List<SeatInfoDto> reloadRoom(int floor, String room) {
+        List<SeatStatusRow> rows = (room == null || room.isBlank())
+                ? seatRepository.findSeatStatusRowsWithoutRoom(floor)
+                : seatRepository.findSeatStatusRows(floor, User.RoomType.valueOf(room));
+
+        RoomSeats r = rooms.computeIfAbsent(RoomKey.of(floor, room),
+                key -> new RoomSeats(key.floor(), key.room()));
+        List<SeatStatusRow> occupied = occupiedFirst(registerAll(rows));
+        int skipped = 0;
+
+        long[] seatIds;
+        synchronized (r) {
+            seatIds = Arrays.copyOf(r.seatIds, r.size);
+        }
+        List<ReentrantLock> held = seatLocks.lockAll(seatIds, seatIds.length);
+        try {
+            synchronized (r) {
+                for (int slot = 0; slot < r.size; slot++) {
+                    if (r.status[slot] == EMPTY) continue;
+                    cancel(r, slot);
+                    seatByUser.remove(r.userIds[slot], r.seatIds[slot]);
+                    r.clear(slot);
+                }
+                for (SeatStatusRow row : occupied) {
+                    if (!restore(r, row, false)) skipped++;
+                }
+            }
+        } finally {
+            SeatLocks.unlockAll(held);
+        }
+
+        log.info("[SEAT-STATE] {}층 {} 다시 불러옴: 좌석 {}개, 건너뛴 체크인 {}건", floor, room, rows.size(), skipped);
+        return seatStatuses(floor, room);
+    }
+
+    // 행의 좌석을 모두 등록하고, 체크인이 있는 행만 반환
+    private List<SeatStatusRow> registerAll(List<SeatStatusRow> rows) {
+        List<SeatStatusRow> occupied = new ArrayList<>();
+        for (SeatStatusRow row : rows) {
+            register(row.getSeatId(), row.getFloor(), row.getRoom(), row.getSeatNumber());
+            if (row.getCheckinId() != null) occupied.add(row);
+        }
+        return occupied;
+    }
+
+    // 입실 순서대로 → 같은 좌석 / 같은 사용자에 퇴실 안 한 행이 여러 개면 가장 최근 것이 남음
+    private static List<SeatStatusRow> occupiedFirst(List<SeatStatusRow> occupied) {
+        occupied.sort(Comparator.comparing(SeatStatusRow::getCheckinTime,
+                Comparator.nullsFirst(Comparator.naturalOrder())));
+        return occupied;
+    }
+
+    /**
+     * @param replaceOtherRoom 같은 사용자가 다른 좌석에 있으면 그 좌석을 비우고 이 행을 쓸지 (기동 시에만 true)
+     * @return 겹친 행 없이 들어갔으면 true
+     */
+    private boolean restore(RoomSeats r, SeatStatusRow row, boolean replaceOtherRoom) {
+        if (r == null) return false;
+
+        long seatId = row.getSeatId();
+        long userId = row.getUserId();
+        int slot = r.slotOf(seatId);
+
+        Long prevSeat = seatByUser.get(userId);
+        if (prevSeat != null && prevSeat != seatId) {
+            if (!replaceOtherRoom) return false;   // reloadRoom: 이 방 사용자는 이미 비워서 남은 건 다른 방 / 처리 중
+
+            RoomSeats prevRoom = roomBySeatId.get(prevSeat);
+
+            int prevSlot = prevRoom.slotOf(prevSeat);
+            cancel(prevRoom, prevSlot);
+            prevRoom.clear(prevSlot);
+        }
+        boolean clean = prevSeat == null;
+
+        if (r.status[slot] != EMPTY) {
+            seatByUser.remove(r.userIds[slot], seatId);
+            clean = false;
+        }
+        seatByUser.put(userId, seatId);
+
+        // 입실 시각이 비어 있는 옛 데이터는 지금 입실한 것으로 봄
+        long now = System.currentTimeMillis();
+        r.occupy(slot, userId, row.getCheckinId(), row.getCheckinTime() != null ? toMillis(row.getCheckinTime()) : now);
+        if (row.getStatus() == CheckinStatus.AWAY) {
+            // 외출 시각이 비어 있는 옛 데이터는 지금부터 외출로 봄
+            r.away(slot, row.getAwayStartedAt() != null ? toMillis(row.getAwayStartedAt()) : now);
+        }
+        schedule(r, slot);   // 이미 지난 마감이면 awaitExpired() 가 바로 처리
+        return clean;
+    }
+
+    // ─────────────────────── 좌석 명령 ───────────────────────
+
+    // CHECKIN (사용자당 1좌석, 빈 좌석만)
+    public SeatInfoDto checkin(Seat seat, long userId) {
+
+        // 사용자가 이미 체크인한 좌석이 있다면 (처리 중인 것 포함)
+        if (seatByUser.putIfAbsent(userId, seat.getId()) != null) {
+            throw new AlreadyCheckedInException("이미 이용중인 좌석이 있습니다.");
+        }
+
+        boolean done = false;
+        ReentrantLock lock = seatLocks.of(seat.getId());
+        lock.lock();
+        try {
+            RoomSeats r = roomOf(seat);
+            int slot;
+            synchronized (r) {
+                slot = r.slotOf(seat.getId());
+
+                // 해당 좌석에 누군가 앉아있을 경우 예외처리
+                if (r.status[slot] != EMPTY) {
+                    throw new IllegalStateException("이미 사용중인 좌석입니다.");
+                }
+            }
+
+            Checkin checkin = transactionTemplate.execute(status -> persistCheckin(seat.getId(), userId));
+            synchronized (r) {
+                r.occupy(slot, userId, checkin.getId(), toMillis(checkin.getCheckinTime()));
+                schedule(r, slot);
+                done = true;
+                return r.info(slot, System.currentTimeMillis());
+            }
+        } finally {
+            lock.unlock();
+            if (!done) seatByUser.remove(userId, seat.getId());
+        }
+    }
+
+    // 같은 user + seat 의 마지막 row 가 있으면 재사용 (id 그대로 유지), 없으면 새 row
+    private Checkin persistCheckin(long seatId, long userId) {
+        User user = userRepository.getReferenceById(userId);
+        Seat seat = seatRepository.getReferenceById(seatId);
+
+        Optional<Checkin> lastOpt = checkinRepository.findFirstByUserAndSeatOrderByCheckinTimeDesc(user, seat);
+        if (lastOpt.isPresent()) {
+            Checkin checkin = lastOpt.get();
+            checkin.startNewSession();     // 상태/시간만 다시 세팅
+            return checkin;
+        }
+
+        Checkin checkin = Checkin.builder()
+                .user(user)
+                .seat(seat)
+                .build();
+        checkin.startNewSession();
+        return checkinRepository.save(checkin);
+    }
+
+    // AWAY_START
+    public SeatInfoDto startAway(Seat seat, long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        return ownedSeatCommand(seat, userId,
+                checkinId -> checkinRepository.updateStatus(checkinId, CheckinStatus.AWAY, now),
+                (r, slot) -> {
+                    r.away(slot, toMillis(now));
+                    schedule(r, slot);
+                });
+    }
+
+    // AWAY_BACK
+    public SeatInfoDto backFromAway(Seat seat, long userId) {
+        return ownedSeatCommand(seat, userId,
+                checkinId -> checkinRepository.updateStatus(checkinId, CheckinStatus.IN_USE, null),
+                (r, slot) -> {
+                    r.back(slot);
+                    schedule(r, slot);
+                });
+    }
+
+    // CHECKOUT
+    public SeatInfoDto checkout(Seat seat, long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        return ownedSeatCommand(seat, userId,
+                checkinId -> checkinRepository.checkoutById(checkinId, now),
+                (r, slot) -> {
+                    cancel(r, slot);
+                    r.clear(slot);
+                    seatByUser.remove(userId, seat.getId());
+                });
+    }
+
+    /**
+     * 본인 좌석 명령 공통 (AWAY_START / AWAY_BACK / CHECKOUT)
+     * 좌석 잠금 안에서: 방 락으로 본인 확인 + checkin id → DB 쓰기 (방 락 없이) → 방 락으로 배열 반영
+     */
+    private SeatInfoDto ownedSeatCommand(Seat seat, long userId, LongConsumer write, SlotUpdate apply) {
+        ReentrantLock lock = seatLocks.of(seat.getId());
+        lock.lock();
+        try {
+            RoomSeats r = roomOf(seat);
+            int slot;
+            long checkinId;
+            synchronized (r) {
+                slot = r.ownedSlot(seat.getId(), userId);
+                checkinId = r.checkinIds[slot];
+            }
+
+            transactionTemplate.executeWithoutResult(status -> write.accept(checkinId));
+            synchronized (r) {
+                apply.apply(r, slot);
+                return r.info(slot, System.currentTimeMillis());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private interface SlotUpdate {
+        void apply(RoomSeats r, int slot);
+    }
+
+    /**
+     * 마감 시각이 지난 좌석 자동 퇴실 (외출 1시간 / 사용 4시간)
+     * - 가장 빠른 마감 시각까지 잠들어 있다가 깨어남, 그때 같이 지난 것들도 모아서 처리
+     * - 방마다 트랜잭션 1개, 그 안에서 id IN (...) UPDATE 1번 (EXPIRY_BATCH_SIZE 개씩), 실패하면 EXPIRY_RETRY_MILLIS 뒤에 다시
+     *   (방은 타이머에 들어 있는 RoomSeats 로 바로 묶음 → 좌석 상태도 방마다 한 번에 만들어짐)
+     * - 방마다 꺼낸 타이머의 좌석 잠금을 모두 잡고 처리 (그 사이 좌석 명령은 대기)
+     * - 취소/교체된 타이머(퇴실, 외출, 복귀)는 RoomSeats.timers 에 없으므로 건너뜀
+     * @return 방별 퇴실된 좌석 (EMPTY 상태)
+     */
+    public List<Expired> awaitExpired() throws InterruptedException {
+        List<Timer> due = new ArrayList<>();
+        due.add(deadlines.take());
+        deadlines.drainTo(due);   // 시험 끝나는 시각처럼 한꺼번에 몰린 것
+
+        Map<RoomSeats, List<Timer>> byRoom = new IdentityHashMap<>();
+        for (Timer timer : due) {
+            byRoom.computeIfAbsent(timer.room, key -> new ArrayList<>()).add(timer);
+        }
+
+        List<Expired> result = new ArrayList<>();
+        for (Map.Entry<RoomSeats, List<Timer>> entry : byRoom.entrySet()) {
+            Expired expired = expireRoom(entry.getKey(), entry.getValue());
+            if (expired != null) result.add(expired);
+        }
+        return result;
+    }
+
+    // 방 1개 자동 퇴실, 처리할 좌석이 없거나 DB 쓰기가 실패하면 null
+    private Expired expireRoom(RoomSeats r, List<Timer> timers) {
+        long[] seatIds = new long[timers.size()];
+        for (int i = 0; i < seatIds.length; i++) {
+            seatIds[i] = timers.get(i).seatId;
+        }
+
+        List<ReentrantLock> held = seatLocks.lockAll(seatIds, seatIds.length);
+        try {
+            int[] expired;
+            List<Long> checkinIds;
+            synchronized (r) {
+                int[] slots = new int[timers.size()];
+                int n = 0;
+                for (Timer timer : timers) {
+                    int slot = r.slotOf(timer.seatId);
+                    if (r.timers[slot] == timer) slots[n++] = slot;
+                }
+                if (n == 0) return null;
+                expired = Arrays.copyOf(slots, n);
+
+                checkinIds = new ArrayList<>(n);
+                for (int slot : expired) {
+                    checkinIds.add(r.checkinIds[slot]);
+                }
+            }
+
+            LocalDateTime at = LocalDateTime.now();
+            int updated;
+            try {
+                updated = transactionTemplate.execute(status -> {
+                    int rows = 0;
+                    for (int from = 0; from < checkinIds.size(); from += EXPIRY_BATCH_SIZE) {
+                        List<Long> batch = checkinIds.subList(from, Math.min(from + EXPIRY_BATCH_SIZE, checkinIds.size()));
+                        rows += checkinRepository.checkoutAllById(batch, at);
+                    }
+                    return rows;
+                });
+            } catch (RuntimeException e) {
+                log.warn("[SEAT-STATE] {}층 {} 자동 퇴실 {}건 실패 → {}초 뒤 다시: {}", r.floor, r.room,
+                        expired.length, TimeUnit.MILLISECONDS.toSeconds(EXPIRY_RETRY_MILLIS), e.getMessage());
+                synchronized (r) {
+                    for (int slot : expired) {
+                        schedule(r, slot, System.currentTimeMillis() + EXPIRY_RETRY_MILLIS);
+                    }
+                }
+                return null;
+            }
+            if (updated < expired.length) {
+                // DB 에서 이미 퇴실 처리된 행 (직접 수정 등) → 메모리도 그대로 비움
+                log.warn("[SEAT-STATE] {}층 {} 자동 퇴실 {}건 중 {}건은 이미 퇴실 상태", r.floor, r.room,
+                        expired.length, expired.length - updated);
+            }
+
+            synchronized (r) {
+                long now = System.currentTimeMillis();
+                List<SeatInfoDto> seats = new ArrayList<>(expired.length);
+                for (int slot : expired) {
+                    seatByUser.remove(r.userIds[slot], r.seatIds[slot]);
+                    r.timers[slot] = null;
+                    r.clear(slot);
+                    seats.add(r.info(slot, now));
+                }
+                return new Expired(r.floor, r.room, seats);
+            }
+        } finally {
+            SeatLocks.unlockAll(held);
+        }
+    }
+
+    public record Expired(int floor, String room, List<SeatInfoDto> seats) { }
+
+    // ─────────────────────── 조회 ───────────────────────
+
+    // 방의 좌석 전체 상태 (SEAT_UPDATE 에서 사용, 빈 좌석도 EMPTY 로 포함)
+    public List<SeatInfoDto> seatStatuses(int floor, String room) {
+        RoomSeats r = rooms.get(RoomKey.of(floor, room));
+        if (r == null) return List.of();
+
+        synchronized (r) {
+            long now = System.currentTimeMillis();
+            List<SeatInfoDto> result = new ArrayList<>(r.size);
+            for (int slot = 0; slot < r.size; slot++) {
+                result.add(r.info(slot, now));
+            }
+            return result;
+        }
+    }
+
+    // 좌석이 1개라도 있는 방인지 (기동 때 seats 전체로 채움, 이후 추가된 좌석은 처음 명령이 올 때 등록)
+    public boolean hasRoom(int floor, String room) {
+        return rooms.containsKey(RoomKey.of(floor, room));
+    }
+
+    public SeatStatus statusOf(Seat seat) {
+        RoomSeats r = roomBySeatId.get(seat.getId());
+        if (r == null) return SeatStatus.EMPTY;
+
+        synchronized (r) {
+            return STATUSES[r.status[r.slotOf(seat.getId())]];
+        }
+    }
+
+    // ─────────────────────── 내부 ───────────────────────
+
+    // 좌석의 마감 타이머를 지금 deadlines[slot] 기준으로 교체 (방 락 안에서)
+    private void schedule(RoomSeats r, int slot) {
+        schedule(r, slot, r.deadlines[slot]);
+    }
+
+    private void schedule(RoomSeats r, int slot, long at) {
+        cancel(r, slot);
+        Timer timer = new Timer(r, r.seatIds[slot], at);
+        r.timers[slot] = timer;
+        deadlines.add(timer);
+    }
+
+    // 큐에서는 빼지 않음 → 마감 시각에 꺼내질 때 expireRoom 이 r.timers[slot] 과 달라서 버림
+    private void cancel(RoomSeats r, int slot) {
+        r.timers[slot] = null;
+    }
+
+    // 기동 후 추가된 좌석이면 그때 등록
+    private RoomSeats roomOf(Seat seat) {
+        RoomSeats r = roomBySeatId.get(seat.getId());
+        return r != null ? r : register(seat.getId(), seat.getFloor(), seat.getRoom(), seat.getSeatNumber());
+    }
+
+    private RoomSeats register(long seatId, int floor, User.RoomType roomType, String seatNumber) {
+        String roomName = roomType == null ? null : roomType.name();
+        RoomSeats r = rooms.computeIfAbsent(RoomKey.of(floor, roomName),
+                key -> new RoomSeats(key.floor(), key.room()));
+
+        synchronized (r) {
+            if (r.slotOf(seatId) < 0) r.add(seatId, seatNumber);
+        }
+        roomBySeatId.put(seatId, r);
+        return r;
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * 방 1개의 좌석 상태 (slot = 이 방 안에서의 좌석 순서, this 로 동기화)
+     * deadlines: IN_USE 면 입실 + 4시간, AWAY 면 외출 시작 + 1시간
+     */
+    private static final class RoomSeats {
+        final int floor;
+        final String room;
+
+        private final Map<Long, Integer> slotBySeatId = new HashMap<>();
+        int size;
+
+        long[] seatIds = new long[16];
+        String[] seatNumbers = new String[16];
+        byte[] status = new byte[16];
+        long[] userIds = new long[16];
+        long[] checkinIds = new long[16];
+        long[] checkinAt = new long[16];
+        long[] deadlines = new long[16];
+        Timer[] timers = new Timer[16];
+
+        RoomSeats(int floor, String room) {
+            this.floor = floor;
+            this.room = room;
+        }
+
+        // 없으면 -1
+        int slotOf(long seatId) {
+            Integer slot = slotBySeatId.get(seatId);
+            return slot == null ? -1 : slot;
+        }
+
+        void add(long seatId, String seatNumber) {
+            if (size == seatIds.length) {
+                int cap = size * 2;
+                seatIds = Arrays.copyOf(seatIds, cap);
+                seatNumbers = Arrays.copyOf(seatNumbers, cap);
+                status = Arrays.copyOf(status, cap);
+                userIds = Arrays.copyOf(userIds, cap);
+                checkinIds = Arrays.copyOf(checkinIds, cap);
+                checkinAt = Arrays.copyOf(checkinAt, cap);
+                deadlines = Arrays.copyOf(deadlines, cap);
+                timers = Arrays.copyOf(timers, cap);
+            }
+            seatIds[size] = seatId;
+            seatNumbers[size] = seatNumber;
+            slotBySeatId.put(seatId, size);
+            size++;
+        }
+
+        // 사용 중인 좌석이고 본인 좌석이면 slot
+        int ownedSlot(long seatId, long userId) {
+            int slot = slotOf(seatId);
+            if (status[slot] == EMPTY) {
+                throw new IllegalStateException("현재 사용 중인 좌석이 아닙니다.");
+            }
+            if (userIds[slot] != userId) {
+                throw new IllegalStateException("이 좌석의 사용자가 아닙니다.");
+            }
+            return slot;
+        }
+
+        void occupy(int slot, long userId, long checkinId, long at) {
+            status[slot] = IN_USE;
+            userIds[slot] = userId;
+            checkinIds[slot] = checkinId;
+            checkinAt[slot] = at;
+            deadlines[slot] = at + MAX_USE_MILLIS;
+        }
+
+        void away(int slot, long at) {
+            status[slot] = AWAY;
+            deadlines[slot] = at + AWAY_LIMIT_MILLIS;
+        }
+
+        void back(int slot) {
+            status[slot] = IN_USE;
+            deadlines[slot] = checkinAt[slot] + MAX_USE_MILLIS;
+        }
+
+        void clear(int slot) {
+            status[slot] = EMPTY;
+            userIds[slot] = 0;
+            checkinIds[slot] = 0;
+            checkinAt[slot] = 0;
+            deadlines[slot] = 0;
+        }
+
+        SeatInfoDto info(int slot, long now) {
+            boolean empty = status[slot] == EMPTY;
+            int remainSeconds = empty ? 0 : (int) Math.max(0, (deadlines[slot] - now) / 1000);
+
+            return new SeatInfoDto(
+                    seatIds[slot],
+                    seatNumbers[slot],
+                    STATUSES[status[slot]],
+                    empty ? null : userIds[slot],
+                    remainSeconds
+            );
+        }
+    }
+
+    // 좌석 1개의 마감 시각 (살아 있는지는 RoomSeats.timers[slot] 과 객체 동일성으로 확인)
+    private static final class Timer implements Delayed {
+        final RoomSeats room;
+        final long seatId;
+        final long at;
+
+        Timer(RoomSeats room, long seatId, long at) {
+            this.room = room;
+            this.seatId = seatId;
+            this.at = at;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(at - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(at, ((Timer) other).at);
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * sensor_data(측정 1건 = 3행) → sensor_readings(1건 = 1행) 옮기는 backfill
+ * - 순서: chat.server.sensor.schema=wide 로 바꿔 sensor_data 가 더 늘지 않게 한 뒤 backfill.enabled=true 로 기동
+ * - id 기준 keyset 으로 chunk-size 행씩 읽음 (WHERE id > ? ORDER BY id LIMIT ?)
+ *   → 일반 SELECT 라 InnoDB 가 잠그지 않고, chunk 사이에 pause-ms 만큼 쉬어서 운영 중에도 돌릴 수 있음
+ * - chunk 마다 sensor_readings INSERT + 진행 위치(sensor_backfill_state) 저장을 트랜잭션 1개로
+ *   → 중간에 멈춰도 다음 기동 때 이어서 진행
+ * - 3행 묶기: 같은 (floor, room, sender) 에서 TEMP/CO2/LUX 가 1초 안에 이어서 들어온 것을 측정 1건으로 봄
+ *   chunk 경계에 걸친 측정값은 메모리에 들고 있다가 다음 chunk 에서 완성
+ *   (프로세스가 갑자기 죽으면 그때 들고 있던 측정값은 일부 값이 빈 채로 남을 수 있음)
+ */
+@Slf4j
+@Service
+public class SensorBackfillService {
+
+    private static final String JOB_NAME = "sensor_readings";
+
+    // 같은 측정값의 3행은 같은 트랜잭션에서 이어서 들어가서 created_at 차이가 거의 없음
+    private static final Duration SAME_READING = Duration.ofSeconds(1);
+
+    // sensor_readings INSERT 1번의 파라미터 65535개 제한 (1행 = 7개)
+    private static final int MAX_CHUNK_SIZE = 65535 / SensorReadingInserts.COLUMNS;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final SensorIngestService.Schema schema;
+    private final int chunkSize;
+    private final long pauseMillis;
+
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    public SensorBackfillService(JdbcTemplate jdbcTemplate,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${chat.server.sensor.backfill.enabled:false}") boolean enabled,
+                                 @Value("${chat.server.sensor.schema:legacy}") String schema,
+                                 @Value("${chat.server.sensor.backfill.chunk-size:3000}") int chunkSize,
+                                 @Value("${chat.server.sensor.backfill.pause-ms:200}") long pauseMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.schema = SensorIngestService.Schema.valueOf(schema.trim().toUpperCase());
+        this.chunkSize = Math.max(1, Math.min(chunkSize, MAX_CHUNK_SIZE));
+        this.pauseMillis = pauseMillis;
+
+        this.worker = new Thread(this::run, "sensor-backfill");
+        this.worker.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) return;
+
+        // legacy 로 저장 중이면 sensor_data 가 계속 늘어서 끝나지 않고, 전환 후 중복 위험도 있음
+        if (schema != SensorIngestService.Schema.WIDE) {
+            log.warn("[BACKFILL] chat.server.sensor.schema=wide 일 때만 실행 (현재 {}) → 건너뜀", schema);
+            return;
+        }
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (worker.isAlive()) worker.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    private void run() {
+        try {
+            ensureStateTable();
+
+            long lastId = loadCheckpoint();
+            Long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM sensor_data", Long.class);
+            long maxId = max == null ? 0 : max;
+
+            if (lastId >= maxId) {
+                log.info("[BACKFILL] 옮길 sensor_data 없음 (진행 위치 id={}, 최대 id={})", lastId, maxId);
+                return;
+            }
+            log.info("[BACKFILL] 시작: sensor_data id {} ~ {} (chunk={}행, 쉬는 시간={}ms)",
+                    lastId + 1, maxId, chunkSize, pauseMillis);
+
+            Map<String, PendingReading> open = new HashMap<>();
+            long startedAt = System.nanoTime();
+            long migratedRows = 0;
+            long insertedReadings = 0;
+            int chunks = 0;
+
+            while (running && lastId < maxId) {
+                List<LegacyRow> rows = jdbcTemplate.query(
+                        "SELECT id, floor, room, type, value, sender, created_at FROM sensor_data"
+                                + " WHERE id > ? AND id <= ? ORDER BY id LIMIT ?",
+                        (rs, rowNum) -> new LegacyRow(
+                                rs.getLong("id"),
+                                rs.getInt("floor"),
+                                rs.getString("room"),
+                                rs.getString("type"),
+                                rs.getFloat("value"),
+                                rs.getString("sender"),
+                                rs.getObject("created_at", LocalDateTime.class)),
+                        lastId, maxId, chunkSize);
+                if (rows.isEmpty()) break;
+
+                List<SensorReadingInserts.Row> completed = group(rows, open);
+                long chunkLastId = rows.get(rows.size() - 1).id();
+                save(completed, chunkLastId, rows.size());
+
+                lastId = chunkLastId;
+                migratedRows += rows.size();
+                insertedReadings += completed.size();
+
+                if (++chunks % 20 == 0) {
+                    log.info("[BACKFILL] 진행: id {}/{} ({}행 → {}건, {}초)", lastId, maxId, migratedRows,
+                            insertedReadings, TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startedAt));
+                }
+                if (pauseMillis > 0) Thread.sleep(pauseMillis);
+            }
+
+            // 끝까지 왔거나 정상 종료 중이면 들고 있던 (덜 모인) 측정값도 저장
+            List<SensorReadingInserts.Row> rest = new ArrayList<>();
+            for (PendingReading pending : open.values()) rest.add(pending.toRow());
+            save(rest, lastId, 0);
+            insertedReadings += rest.size();
+
+            log.info("[BACKFILL] {}: id {}/{} ({}행 → {}건, {}초)", lastId >= maxId ? "완료" : "중단",
+                    lastId, maxId, migratedRows, insertedReadings,
+                    TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startedAt));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("[BACKFILL] 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * id 순서로 읽은 행을 측정값 단위로 묶기
+     * - 같은 (floor, room, sender) 에 이미 같은 type 이 있거나 1초 넘게 떨어져 있으면 이전 측정값은 끝난 것
+     * - TEMP/CO2/LUX 가 다 모이면 바로 완료
+     */
+    private static List<SensorReadingInserts.Row> group(List<LegacyRow> rows, Map<String, PendingReading> open) {
+        List<SensorReadingInserts.Row> completed = new ArrayList<>();
+
+        for (LegacyRow row : rows) {
+            String key = row.floor() + "|" + row.room() + "|" + row.sender();
+            PendingReading pending = open.get(key);
+
+            if (pending != null && (pending.has(row.type())
+                    || Duration.between(pending.createdAt, row.createdAt()).abs().compareTo(SAME_READING) > 0)) {
+                completed.add(pending.toRow());
+                pending = null;
+            }
+            if (pending == null) {
+                pending = new PendingReading(row);
+                open.put(key, pending);
+            }
+
+            pending.set(row.type(), row.value());
+            if (pending.complete()) {
+                completed.add(pending.toRow());
+                open.remove(key);
+            }
+        }
+
+        // 나머지 값이 더 안 오는 측정값 정리 (이 chunk 마지막 행보다 1초 넘게 이전인 것)
+        LocalDateTime last = rows.get(rows.size() - 1).createdAt();
+        for (Iterator<PendingReading> it = open.values().iterator(); it.hasNext(); ) {
+            PendingReading pending = it.next();
+            if (Duration.between(pending.createdAt, last).compareTo(SAME_READING) > 0) {
+                completed.add(pending.toRow());
+                it.remove();
+            }
+        }
+        return completed;
+    }
+
+    // chunk 1개 = 트랜잭션 1개 (INSERT + 진행 위치)
+    private void save(List<SensorReadingInserts.Row> readings, long lastId, int migratedRows) {
+        transactionTemplate.executeWithoutResult(status -> {
+            SensorReadingInserts.insert(jdbcTemplate, readings);
+            jdbcTemplate.update("INSERT INTO sensor_backfill_state (job, last_id, migrated_rows, updated_at)"
+                            + " VALUES (?, ?, ?, NOW())"
+                            + " ON DUPLICATE KEY UPDATE last_id = ?, migrated_rows = migrated_rows + ?, updated_at = NOW()",
+                    JOB_NAME, lastId, migratedRows, lastId, migratedRows);
+        });
+    }
+
+    private void ensureStateTable() {
+        jdbcTemplate.update("CREATE TABLE IF NOT EXISTS sensor_backfill_state ("
+                + " job VARCHAR(50) PRIMARY KEY,"
+                + " last_id BIGINT NOT NULL,"
+                + " migrated_rows BIGINT NOT NULL,"
+                + " updated_at DATETIME NOT NULL)");
+    }
+
+    private long loadCheckpoint() {
+        List<Long> ids = jdbcTemplate.query("SELECT last_id FROM sensor_backfill_state WHERE job = ?",
+                (rs, rowNum) -> rs.getLong("last_id"), JOB_NAME);
+        return ids.isEmpty() ? 0 : ids.get(0);
+    }
+
+    private record LegacyRow(long id, int floor, String room, String type, float value, String sender,
+                             LocalDateTime createdAt) { }
+
+    // 아직 3가지 값이 다 안 모인 측정값
+    private static final class PendingReading {
+        private final int floor;
+        private final String room;
+        private final String sender;
+        private final LocalDateTime createdAt;
+        private Float temp;
+        private Float co2;
+        private Float lux;
+
+        PendingReading(LegacyRow first) {
+            this.floor = first.floor();
+            this.room = first.room();
+            this.sender = first.sender();
+            this.createdAt = first.createdAt();
+        }
+
+        boolean has(String type) {
+            return switch (type) {
+                case "TEMP" -> temp != null;
+                case "CO2" -> co2 != null;
+                case "LUX" -> lux != null;
+                default -> false;
+            };
+        }
+
+        void set(String type, float value) {
+            switch (type) {
+                case "TEMP" -> temp = value;
+                case "CO2" -> co2 = value;
+                case "LUX" -> lux = value;
+                default -> { }
+            }
+        }
+
+        boolean complete() {
+            return temp != null && co2 != null && lux != null;
+        }
+
+        SensorReadingInserts.Row toRow() {
+            return new SensorReadingInserts.Row(floor, room, temp, co2, lux, sender, createdAt);
+        }
+    }
+}
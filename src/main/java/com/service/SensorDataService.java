@@ -1,15 +1,13 @@
 package com.service;
 
-import com.entity.SensorData;
+import com.dto.RoomKey;
 import com.entity.User;
-import com.repository.SensorDataRepository;
 import com.socket.server.SocketMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -18,7 +16,8 @@ import java.util.concurrent.ConcurrentHashMap;
 @RequiredArgsConstructor
 public class SensorDataService {
 
-    private final SensorDataRepository sensorDataRepository;
+    private final SensorIngestService sensorIngestService;
+    private final SensorRollupService sensorRollupService;
 
     // room별 최신 스냅샷 캐시
     private final Map<RoomKey, SensorSnapshot> latestSnapshotMap = new ConcurrentHashMap<>();
@@ -36,35 +35,16 @@ public class SensorDataService {
             roomEnum = User.RoomType.valueOf(room); // "A" -> RoomType.A
         }
 
-        // 2) DB에 3행 INSERT
-        SensorData tempRow = SensorData.builder()
-                .floor(floor)
-                .room(roomEnum)  // 3,4,6층은 null 들어감
-                .type(SensorData.SensorType.TEMP)
-                .value(msg.getTemp().floatValue())
-                .sender(sender)
-                .build();
+        // 2) DB 3행(TEMP/CO2/LUX)은 적재 대기열로 → 다른 방 측정값과 모아서 여러 행 INSERT
+        sensorIngestService.enqueue(floor, roomEnum == null ? null : roomEnum.name(), sender,
+                msg.getTemp(), msg.getCo2(), msg.getLux());
 
-        SensorData co2Row = SensorData.builder()
-                .floor(floor)
-                .room(roomEnum)
-                .type(SensorData.SensorType.CO2)
-                .value(msg.getCo2().floatValue())
-                .sender(sender)
-                .build();
+        // 2-1) 1분 / 1시간 집계 갱신 (추이 조회는 원본 대신 이 집계를 씀)
+        sensorRollupService.record(floor, roomEnum == null ? null : roomEnum.name(),
+                msg.getTemp(), msg.getCo2(), msg.getLux(), System.currentTimeMillis());
 
-        SensorData luxRow = SensorData.builder()
-                .floor(floor)
-                .room(roomEnum)
-                .type(SensorData.SensorType.LUX)
-                .value(msg.getLux().floatValue())
-                .sender(sender)
-                .build();
-
-        sensorDataRepository.saveAll(List.of(tempRow, co2Row, luxRow));
-
-        // 3) 최신값 캐시 업데이트 (room 문자열 기준으로 key 구성)
-        RoomKey key = new RoomKey(floor, room);  // room 이 null이면 그대로 null
+        // 3) 최신값 캐시 업데이트 (room 이 null / 공백 / "null" 이면 같은 키)
+        RoomKey key = RoomKey.of(floor, room);
         SensorSnapshot snapshot = new SensorSnapshot(
                 msg.getTemp(),
                 msg.getCo2(),
@@ -73,7 +53,7 @@ public class SensorDataService {
         );
         latestSnapshotMap.put(key, snapshot);
 
-        log.info("[SENSOR] {}층 {} 센서 데이터 수신 및 저장 완료",
+        log.info("[SENSOR] {}층 {} 센서 데이터 수신 (저장 대기열 추가)",
                 floor,
                 (room == null ? "(공용)" : room + "실"));
 
@@ -82,11 +62,9 @@ public class SensorDataService {
     }
 
     public SensorSnapshot getLatestSnapshot(int floor, String room) {
-        return latestSnapshotMap.get(new RoomKey(floor, room));
+        return latestSnapshotMap.get(RoomKey.of(floor, room));
     }
 
-    public record RoomKey(int floor, String room) { }
-
     public record SensorSnapshot(Double temp, Double co2, Double lux,
                                  LocalDateTime updatedAt) { }
 }
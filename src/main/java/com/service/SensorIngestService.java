@@ -0,0 +1,268 @@
+package com.service;
+
+import com.entity.SensorData;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 센서 측정값 적재 단계
+ * - 모든 층/방의 SENSOR_DATA 를 하나의 대기열에 모아 batch-size 개 / 첫 건 이후 flush-ms 마다 저장
+ * - schema 설정에 따라 저장 테이블 선택, 어느 쪽이든 batch 전체를 여러 행 INSERT 1번으로
+ *   LEGACY : sensor_data, 측정 1건 = 3행(TEMP, CO2, LUX)
+ *   WIDE   : sensor_readings, 측정 1건 = 1행 (SensorReading)
+ * - ID: 두 테이블 모두 IDENTITY(AUTO_INCREMENT), 키는 MySQL 이 여러 행 INSERT 안에서 한 번에 배정
+ *   (JPA saveAll 은 행마다 생성 키를 받아야 해서 batch 가 안 됨, 여기서는 키를 돌려받을 필요가 없음)
+ * - 대기열이 가득 차면 가장 오래된 측정값부터 버림 (센서는 최신 값이 더 중요, 대시보드는 캐시로 바로 갱신됨)
+ * - 저장 실패한 batch 는 버리고 개수만 기록 (다음 측정값이 곧 다시 들어옴)
+ */
+@Slf4j
+@Service
+public class SensorIngestService {
+
+    public enum Schema { LEGACY, WIDE }
+
+    // DB 쓰기 실패 후 다음 시도까지 쉬는 시간
+    private static final long FAILURE_BACKOFF_MILLIS = 1000;
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO sensor_data (floor, room, type, value, sender, created_at) VALUES ";
+    private static final String INSERT_ROW = "(?, ?, ?, ?, ?, ?)";
+
+    // 문장 1개의 파라미터는 최대 65535개 (LEGACY 기준 측정 1건 = 3행 x 6개)
+    private static final int MAX_BATCH_SIZE = 65535 / 18;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Schema schema;
+    private final BlockingQueue<Reading> queue;
+    private final int batchSize;
+    private final long flushNanos;
+    private final long shutdownFlushMillis;
+
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    // 지표
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder persisted = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder failedBatches = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAccumulator maxLagMillis = new LongAccumulator(Math::max, 0);
+    private volatile long lastLagMillis;
+
+    // 1분 로그용 (직전 로그 시점의 persisted)
+    private long lastLoggedPersisted;
+    private long lastLoggedAt = System.nanoTime();
+
+    public SensorIngestService(JdbcTemplate jdbcTemplate,
+                               @Value("${chat.server.sensor.schema:legacy}") String schema,
+                               @Value("${chat.server.sensor.ingest.queue-capacity:20000}") int queueCapacity,
+                               @Value("${chat.server.sensor.ingest.batch-size:500}") int batchSize,
+                               @Value("${chat.server.sensor.ingest.flush-ms:200}") long flushMillis,
+                               @Value("${chat.server.sensor.ingest.shutdown-flush-ms:5000}") long shutdownFlushMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.schema = Schema.valueOf(schema.trim().toUpperCase());
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = Math.max(1, Math.min(batchSize, MAX_BATCH_SIZE));
+        this.flushNanos = TimeUnit.MILLISECONDS.toNanos(flushMillis);
+        this.shutdownFlushMillis = shutdownFlushMillis;
+
+        this.writer = new Thread(this::runWriter, "sensor-db-writer");
+        this.writer.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start() {
+        writer.start();
+        log.info("[SENSOR-DB] 적재 시작 (schema={}, batch={}건, flush={}ms, 대기열={})",
+                schema, batchSize, TimeUnit.NANOSECONDS.toMillis(flushNanos), queue.remainingCapacity());
+    }
+
+    /**
+     * 측정값 1건을 대기열에 넣는다 (블로킹 없음)
+     * - room 은 "A"/"B" 또는 null (SensorDataService 에서 이미 정리)
+     * - 값이 빠진 항목은 그 행만 저장하지 않음
+     */
+    public void enqueue(int floor, String room, String sender, Double temp, Double co2, Double lux) {
+        Reading reading = new Reading(floor, room, sender, temp, co2, lux, System.currentTimeMillis());
+
+        enqueued.increment();
+        while (!queue.offer(reading)) {
+            // 가득 참 → 가장 오래된 것 1건 버리고 다시
+            if (queue.poll() != null) dropped.increment();
+        }
+    }
+
+    // ─────────────────────── writer 스레드 ───────────────────────
+
+    private void runWriter() {
+        List<Reading> batch = new ArrayList<>(batchSize);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                Reading first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) continue;
+
+                batch.add(first);
+                queue.drainTo(batch, batchSize - batch.size());
+
+                // 첫 건 이후 flush-ms 동안 더 모아서 한 번에 (그 사이 batch-size 가 차면 바로)
+                long deadline = System.nanoTime() + flushNanos;
+                while (batch.size() < batchSize) {
+                    long left = deadline - System.nanoTime();
+                    if (left <= 0) break;
+                    Reading next = queue.poll(left, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                    queue.drainTo(batch, batchSize - batch.size());
+                }
+
+                if (!write(batch)) {
+                    Thread.sleep(FAILURE_BACKOFF_MILLIS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private boolean write(List<Reading> readings) {
+        try {
+            insert(readings);
+            batches.increment();
+            persisted.add(readings.size());
+
+            long lag = System.currentTimeMillis() - readings.get(0).createdAt();
+            lastLagMillis = lag;
+            maxLagMillis.accumulate(lag);
+            return true;
+        } catch (RuntimeException e) {
+            failedBatches.increment();
+            dropped.add(readings.size());
+            log.warn("[SENSOR-DB] 측정값 {}건 저장 실패 → 버림: {}", readings.size(), e.getMessage());
+            return false;
+        }
+    }
+
+    private void insert(List<Reading> readings) {
+        if (schema == Schema.WIDE) {
+            insertWide(readings);
+        } else {
+            insertLegacy(readings);
+        }
+    }
+
+    // sensor_readings: 측정 1건 = 1행
+    private void insertWide(List<Reading> readings) {
+        List<SensorReadingInserts.Row> rows = new ArrayList<>(readings.size());
+        for (Reading r : readings) {
+            rows.add(new SensorReadingInserts.Row(r.floor(), r.room(),
+                    toFloat(r.temp()), toFloat(r.co2()), toFloat(r.lux()), r.sender(),
+                    LocalDateTime.ofInstant(Instant.ofEpochMilli(r.createdAt()), ZoneId.systemDefault())));
+        }
+        SensorReadingInserts.insert(jdbcTemplate, rows);
+    }
+
+    private static Float toFloat(Double value) {
+        return value == null ? null : value.floatValue();
+    }
+
+    // sensor_data: 측정 1건당 최대 3행
+    private void insertLegacy(List<Reading> readings) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + readings.size() * 3 * (INSERT_ROW.length() + 2))
+                .append(INSERT_PREFIX);
+        List<Object> args = new ArrayList<>(readings.size() * 3 * 6);
+
+        for (Reading r : readings) {
+            LocalDateTime createdAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(r.createdAt()), ZoneId.systemDefault());
+            addRow(sql, args, r, SensorData.SensorType.TEMP, r.temp(), createdAt);
+            addRow(sql, args, r, SensorData.SensorType.CO2, r.co2(), createdAt);
+            addRow(sql, args, r, SensorData.SensorType.LUX, r.lux(), createdAt);
+        }
+
+        if (args.isEmpty()) return;
+        jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+
+    private static void addRow(StringBuilder sql, List<Object> args, Reading r,
+                               SensorData.SensorType type, Double value, LocalDateTime createdAt) {
+        if (value == null) return;
+
+        if (!args.isEmpty()) sql.append(", ");
+        sql.append(INSERT_ROW);
+
+        args.add(r.floor());
+        args.add(r.room());
+        args.add(type.name());
+        args.add(value.floatValue());
+        args.add(r.sender());
+        args.add(createdAt);
+    }
+
+    // ─────────────────────── 종료 / 지표 ───────────────────────
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        writer.join(shutdownFlushMillis);
+
+        int rest = queue.size();
+        if (rest > 0) {
+            dropped.add(rest);
+            queue.clear();
+            log.warn("[SENSOR-DB] 종료 시 저장 못 한 측정값 {}건 버림", rest);
+        }
+        log.info("[SENSOR-DB] 적재 종료: {}", getStats());
+    }
+
+    public Stats getStats() {
+        long batchCount = batches.sum();
+        long persistedCount = persisted.sum();
+        return new Stats(queue.size(), enqueued.sum(), persistedCount, dropped.sum(),
+                batchCount, failedBatches.sum(),
+                batchCount == 0 ? 0 : persistedCount / batchCount,
+                lastLagMillis, maxLagMillis.get());
+    }
+
+    /**
+     * - 건수는 모두 측정값 단위 (DB 행 수는 약 3배)
+     * - lastLagMillis / maxLagMillis : 수신 ~ DB 저장 완료까지 걸린 시간 (마지막 batch / 최대)
+     */
+    public record Stats(int pending, long enqueued, long persisted, long dropped, long batches,
+                        long failedBatches, long avgBatchSize, long lastLagMillis, long maxLagMillis) { }
+
+    @Scheduled(fixedDelay = 60000)
+    public void logStats() {
+        long now = System.nanoTime();
+        long persistedNow = persisted.sum();
+        double seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(now - lastLoggedAt));
+
+        log.info("[SENSOR-DB] 초당 {}건 저장, {}", String.format("%.1f", (persistedNow - lastLoggedPersisted) / seconds),
+                getStats());
+
+        lastLoggedPersisted = persistedNow;
+        lastLoggedAt = now;
+    }
+
+    private record Reading(int floor, String room, String sender, Double temp, Double co2, Double lux,
+                           long createdAt) { }
+}
@@ -0,0 +1,46 @@
+package com.service;
+// sensor_readings 여러 행 INSERT (SensorIngestService / SensorBackfillService 공통)
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+final class SensorReadingInserts {
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO sensor_readings (floor, room, temp, co2, lux, sender, created_at) VALUES ";
+    private static final String INSERT_ROW = "(?, ?, ?, ?, ?, ?, ?)";
+
+    static final int COLUMNS = 7;
+
+    private SensorReadingInserts() {
+    }
+
+    // rows 전체를 INSERT 1번으로 (문장당 파라미터 65535개 이하가 되도록 호출하는 쪽에서 나눔)
+    static void insert(JdbcTemplate jdbcTemplate, List<Row> rows) {
+        if (rows.isEmpty()) return;
+
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + rows.size() * (INSERT_ROW.length() + 2))
+                .append(INSERT_PREFIX);
+        Object[] args = new Object[rows.size() * COLUMNS];
+        int i = 0;
+
+        for (Row row : rows) {
+            if (i > 0) sql.append(", ");
+            sql.append(INSERT_ROW);
+
+            args[i++] = row.floor();
+            args[i++] = row.room();
+            args[i++] = row.temp();
+            args[i++] = row.co2();
+            args[i++] = row.lux();
+            args[i++] = row.sender();
+            args[i++] = row.createdAt().withNano(0);   // DATETIME(초 단위) 에 반올림 말고 버림으로
+        }
+
+        jdbcTemplate.update(sql.toString(), args);
+    }
+
+    record Row(int floor, String room, Float temp, Float co2, Float lux, String sender, LocalDateTime createdAt) { }
+}
@@ -0,0 +1,325 @@
+package com.service;
+
+import com.dto.RoomKey;
+import com.dto.SensorTrendPointDto;
+import com.entity.SensorRollup;
+import com.entity.SensorRollup.Resolution;
+import com.repository.SensorRollupRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 센서 측정값 실시간 집계 (1분 / 1시간 구간, (floor, room) 별)
+ * - SENSOR_DATA 가 올 때마다 record() 로 열린 구간의 min / max / sum / count 갱신 (항목별 기본형 배열에 누적)
+ * - 시각이 다음 구간으로 넘어가면 이전 구간을 닫아 대기열로, 10초마다 sensor_rollups 에 저장
+ *   (조용해진 방의 구간도 그때 닫음)
+ * - 같은 구간이 두 번 저장되면 (재기동 등) ON DUPLICATE KEY 로 합침
+ * - 한 번의 저장은 chunk 가 여러 개여도 트랜잭션 1개 (중간에 실패하면 전부 롤백 → 다음 주기에 같은 구간을 다시,
+ *   이미 들어간 chunk 가 한 번 더 더해지지 않음)
+ * - 저장 대기 구간은 커밋이 끝난 뒤에 대기열에서 빼므로 저장 중에도 추이에서 빠지지 않음
+ * - 추이 조회는 sensor_rollups + 아직 저장 안 된 메모리 구간만 봄 → 원본(sensor_data / sensor_readings)은 안 읽음
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SensorRollupService {
+
+    private static final int TEMP = 0;
+    private static final int CO2 = 1;
+    private static final int LUX = 2;
+    private static final String[] METRICS = {"temp", "co2", "lux"};
+
+    // 구간 1개 = 파라미터 16개, 문장당 65535개 이하
+    private static final int MAX_ROWS_PER_INSERT = 1000;
+
+    private static final String UPSERT_SQL = buildUpsertSql();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SensorRollupRepository sensorRollupRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // (floor, room) → 열린 구간들
+    private final Map<RoomKey, RoomRollup> rooms = new ConcurrentHashMap<>();
+
+    // 닫혔지만 아직 DB 에 안 들어간 구간 (record 는 뒤에 추가만, 커밋된 구간은 flush 가 앞에서부터 제거)
+    private final Queue<Bucket> closed = new ConcurrentLinkedQueue<>();
+
+    // flush 의 "저장 + 대기열에서 제거" 와 getTrend 의 "DB 조회 + 대기열 합치기" 가 섞이지 않게
+    // (커밋 직후 ~ 제거 전에 조회하면 같은 구간을 두 번 세게 됨)
+    private final ReentrantReadWriteLock storeLock = new ReentrantReadWriteLock();
+
+    // room 은 "A"/"B" 또는 null
+    public void record(int floor, String room, Double temp, Double co2, Double lux, long atMillis) {
+        RoomRollup rollup = rooms.computeIfAbsent(RoomKey.of(floor, room), RoomRollup::new);
+
+        synchronized (rollup) {
+            rollup.minute = roll(rollup, rollup.minute, Resolution.MINUTE, atMillis);
+            rollup.hour = roll(rollup, rollup.hour, Resolution.HOUR, atMillis);
+
+            rollup.minute.add(temp, co2, lux);
+            rollup.hour.add(temp, co2, lux);
+        }
+    }
+
+    // 지금 구간이 끝났으면 닫고 새 구간 (늦게 온 측정값은 지금 구간에 포함)
+    private Bucket roll(RoomRollup rollup, Bucket current, Resolution resolution, long atMillis) {
+        if (current != null && atMillis < current.start + resolution.millis()) {
+            return current;
+        }
+        if (current != null) closed.add(current);
+        return new Bucket(rollup.key, resolution, atMillis - Math.floorMod(atMillis, resolution.millis()));
+    }
+
+    // ─────────────────────── 저장 ───────────────────────
+
+    @Scheduled(fixedDelay = 10000)
+    public void flush() {
+        closeExpired(System.currentTimeMillis());
+
+        storeLock.writeLock().lock();
+        try {
+            // 대기열 앞에서부터 지금 있는 것 (저장하는 동안 뒤에 추가되는 구간은 다음 주기에)
+            List<Bucket> batch = new ArrayList<>(closed);
+            if (batch.isEmpty()) return;
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    for (int from = 0; from < batch.size(); from += MAX_ROWS_PER_INSERT) {
+                        upsert(batch.subList(from, Math.min(batch.size(), from + MAX_ROWS_PER_INSERT)));
+                    }
+                });
+            } catch (RuntimeException e) {
+                // 전부 롤백, 대기열에 그대로 있으니 다음 주기에 다시 (구간 수는 방 수 x 분당 1개 정도라 쌓여도 작음)
+                log.warn("[ROLLUP] 집계 {}건 저장 실패, 다음에 재시도: {}", batch.size(), e.getMessage());
+                return;
+            }
+
+            for (int i = 0; i < batch.size(); i++) {
+                closed.poll();
+            }
+        } finally {
+            storeLock.writeLock().unlock();
+        }
+    }
+
+    // 측정값이 더 안 와서 끝난 구간 닫기
+    private void closeExpired(long now) {
+        for (RoomRollup rollup : rooms.values()) {
+            synchronized (rollup) {
+                if (rollup.minute != null && now >= rollup.minute.start + Resolution.MINUTE.millis()) {
+                    closed.add(rollup.minute);
+                    rollup.minute = null;
+                }
+                if (rollup.hour != null && now >= rollup.hour.start + Resolution.HOUR.millis()) {
+                    closed.add(rollup.hour);
+                    rollup.hour = null;
+                }
+            }
+        }
+    }
+
+    // 종료 시 열린 구간도 지금까지 값으로 저장 (재기동 후 같은 구간은 upsert 로 합쳐짐)
+    @PreDestroy
+    public void shutdown() {
+        for (RoomRollup rollup : rooms.values()) {
+            synchronized (rollup) {
+                if (rollup.minute != null) closed.add(rollup.minute);
+                if (rollup.hour != null) closed.add(rollup.hour);
+                rollup.minute = null;
+                rollup.hour = null;
+            }
+        }
+        flush();
+    }
+
+    private void upsert(List<Bucket> buckets) {
+        StringBuilder sql = new StringBuilder(buckets.size() * 52);
+        List<Object> args = new ArrayList<>(buckets.size() * 16);
+
+        for (Bucket b : buckets) {
+            sql.append(args.isEmpty() ? "" : ", ").append("(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+            args.add(b.resolution.name());
+            args.add(b.key.floor());
+            args.add(dbRoom(b.key));
+            args.add(toDateTime(b.start));
+            for (int m = 0; m < METRICS.length; m++) {
+                args.add(b.count[m]);
+                args.add(b.sum[m]);
+                args.add(b.count[m] == 0 ? null : b.min[m]);
+                args.add(b.count[m] == 0 ? null : b.max[m]);
+            }
+        }
+
+        jdbcTemplate.update(UPSERT_SQL.replace("{rows}", sql), args.toArray());
+    }
+
+    // LEAST / GREATEST 는 NULL 이 섞이면 NULL 이라 COALESCE 로 감쌈
+    private static String buildUpsertSql() {
+        StringBuilder columns = new StringBuilder("resolution, floor, room, bucket_start");
+        StringBuilder updates = new StringBuilder();
+        for (String m : METRICS) {
+            columns.append(", ").append(m).append("_count, ").append(m).append("_sum, ")
+                    .append(m).append("_min, ").append(m).append("_max");
+            if (!updates.isEmpty()) updates.append(", ");
+            updates.append(m).append("_count = ").append(m).append("_count + VALUES(").append(m).append("_count), ")
+                    .append(m).append("_sum = ").append(m).append("_sum + VALUES(").append(m).append("_sum), ")
+                    .append(m).append("_min = LEAST(COALESCE(").append(m).append("_min, VALUES(").append(m)
+                    .append("_min)), COALESCE(VALUES(").append(m).append("_min), ").append(m).append("_min)), ")
+                    .append(m).append("_max = GREATEST(COALESCE(").append(m).append("_max, VALUES(").append(m)
+                    .append("_max)), COALESCE(VALUES(").append(m).append("_max), ").append(m).append("_max))");
+        }
+        return "INSERT INTO sensor_rollups (" + columns + ") VALUES {rows} ON DUPLICATE KEY UPDATE " + updates;
+    }
+
+    // ─────────────────────── 조회 ───────────────────────
+
+    /**
+     * 최근 last 개 구간의 추이 (오래된 것부터)
+     * - sensor_rollups 에 저장된 구간 + 아직 메모리에 있는 구간(열린 것, 저장 대기 중인 것)을 합쳐서
+     * - 측정값이 없던 구간은 빠짐
+     */
+    public List<SensorTrendPointDto> getTrend(int floor, String room, Resolution resolution, int last) {
+        RoomKey key = RoomKey.of(floor, room);
+        long now = System.currentTimeMillis();
+        long from = now - Math.floorMod(now, resolution.millis()) - (long) (Math.max(1, last) - 1) * resolution.millis();
+
+        TreeMap<Long, Bucket> merged = new TreeMap<>();
+        storeLock.readLock().lock();
+        try {
+            for (SensorRollup row : sensorRollupRepository
+                    .findByResolutionAndFloorAndRoomAndBucketStartGreaterThanEqualOrderByBucketStart(
+                            resolution, floor, dbRoom(key), toDateTime(from))) {
+                long start = row.getBucketStart().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+                merged.computeIfAbsent(start, s -> new Bucket(key, resolution, s)).merge(row);
+            }
+
+            for (Bucket pending : closed) {
+                if (pending.key.equals(key) && pending.resolution == resolution && pending.start >= from) {
+                    merged.computeIfAbsent(pending.start, s -> new Bucket(key, resolution, s)).merge(pending);
+                }
+            }
+        } finally {
+            storeLock.readLock().unlock();
+        }
+
+        RoomRollup rollup = rooms.get(key);
+        if (rollup != null) {
+            synchronized (rollup) {
+                Bucket open = resolution == Resolution.MINUTE ? rollup.minute : rollup.hour;
+                if (open != null && open.start >= from) {
+                    merged.computeIfAbsent(open.start, s -> new Bucket(key, resolution, s)).merge(open);
+                }
+            }
+        }
+
+        List<SensorTrendPointDto> points = new ArrayList<>(merged.size());
+        for (Bucket b : merged.values()) points.add(b.toPoint());
+        return points;
+    }
+
+    // sensor_rollups.room 은 room 이 없으면 ""
+    private static String dbRoom(RoomKey key) {
+        return key.room() == null ? "" : key.room();
+    }
+
+    private static LocalDateTime toDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+
+    // ─────────────────────── 구간 ───────────────────────
+
+    // (floor, room) 의 열린 구간 (this 로 동기화)
+    private static final class RoomRollup {
+        final RoomKey key;
+        Bucket minute;
+        Bucket hour;
+
+        RoomRollup(RoomKey key) {
+            this.key = key;
+        }
+    }
+
+    // 항목(TEMP/CO2/LUX)별 count / sum / min / max
+    private static final class Bucket {
+        final RoomKey key;
+        final Resolution resolution;
+        final long start;
+
+        final int[] count = new int[3];
+        final double[] sum = new double[3];
+        final float[] min = new float[3];
+        final float[] max = new float[3];
+
+        Bucket(RoomKey key, Resolution resolution, long start) {
+            this.key = key;
+            this.resolution = resolution;
+            this.start = start;
+            Arrays.fill(min, Float.POSITIVE_INFINITY);
+            Arrays.fill(max, Float.NEGATIVE_INFINITY);
+        }
+
+        void add(Double temp, Double co2, Double lux) {
+            if (temp != null) add(TEMP, 1, temp, temp.floatValue(), temp.floatValue());
+            if (co2 != null) add(CO2, 1, co2, co2.floatValue(), co2.floatValue());
+            if (lux != null) add(LUX, 1, lux, lux.floatValue(), lux.floatValue());
+        }
+
+        void add(int m, int n, double s, float lo, float hi) {
+            count[m] += n;
+            sum[m] += s;
+            if (lo < min[m]) min[m] = lo;
+            if (hi > max[m]) max[m] = hi;
+        }
+
+        void merge(Bucket other) {
+            for (int m = 0; m < 3; m++) {
+                if (other.count[m] > 0) add(m, other.count[m], other.sum[m], other.min[m], other.max[m]);
+            }
+        }
+
+        void merge(SensorRollup row) {
+            if (row.getTempCount() > 0) add(TEMP, row.getTempCount(), row.getTempSum(), row.getTempMin(), row.getTempMax());
+            if (row.getCo2Count() > 0) add(CO2, row.getCo2Count(), row.getCo2Sum(), row.getCo2Min(), row.getCo2Max());
+            if (row.getLuxCount() > 0) add(LUX, row.getLuxCount(), row.getLuxSum(), row.getLuxMin(), row.getLuxMax());
+        }
+
+        SensorTrendPointDto toPoint() {
+            return new SensorTrendPointDto(
+                    toDateTime(start),
+                    Math.max(count[TEMP], Math.max(count[CO2], count[LUX])),
+                    avg(TEMP), lo(TEMP), hi(TEMP),
+                    avg(CO2), lo(CO2), hi(CO2),
+                    avg(LUX), lo(LUX), hi(LUX));
+        }
+
+        private Double avg(int m) {
+            return count[m] == 0 ? null : sum[m] / count[m];
+        }
+
+        private Float lo(int m) {
+            return count[m] == 0 ? null : min[m];
+        }
+
+        private Float hi(int m) {
+            return count[m] == 0 ? null : max[m];
+        }
+    }
+}
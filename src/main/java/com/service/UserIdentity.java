@@ -0,0 +1,18 @@
+package com.service;
+// 세션에 붙여 두는 사용자 정보 (불변)
+
+import com.entity.User;
+
+/**
+ * JOIN 때 한 번 조회한 users 행의 필요한 값만 복사한 것
+ * - 엔티티가 아니라서 트랜잭션 밖 / 여러 스레드에서 그대로 써도 됨
+ * - floor / room 은 관리자 담당 구역 (일반 유저는 null)
+ */
+public record UserIdentity(long id, String loginId, String username, User.RoleType role,
+                           Integer floor, String room) {
+
+    public static UserIdentity of(User user) {
+        return new UserIdentity(user.getId(), user.getLoginId(), user.getUsername(), user.getRole(),
+                user.getFloor(), user.getRoom());
+    }
+}
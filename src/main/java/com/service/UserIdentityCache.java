@@ -0,0 +1,148 @@
+package com.service;
+
+import com.entity.User;
+import com.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * loginId / id → UserIdentity 캐시 (채팅 저장, 체크인이 같이 씀)
+ * - max-size 를 넘으면 가장 오래 안 쓴 것부터 제거 (LRU), ttl-seconds 가 지나면 다시 조회
+ * - 없는 사용자는 캐시하지 않음 (센서 등은 JOIN 때 1번만 조회되므로 괜찮음)
+ * - DB 조회는 락 밖에서 하므로 같은 사용자를 동시에 처음 찾으면 조회가 겹칠 수 있음 (결과는 같음)
+ */
+@Slf4j
+@Service
+public class UserIdentityCache {
+
+    private final UserRepository userRepository;
+    private final long ttlMillis;
+
+    // this 로 동기화
+    private final LinkedHashMap<String, Entry> byLoginId;
+    private final Map<Long, String> loginIdById = new HashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public UserIdentityCache(UserRepository userRepository,
+                             @Value("${chat.server.identity.cache-size:10000}") int maxSize,
+                             @Value("${chat.server.identity.ttl-seconds:600}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+        this.byLoginId = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() <= maxSize) return false;
+                loginIdById.remove(eldest.getValue().identity().id());
+                evictions.increment();
+                return true;
+            }
+        };
+    }
+
+    public Optional<UserIdentity> byLoginId(String loginId) {
+        if (loginId == null) return Optional.empty();
+
+        UserIdentity cached = cached(loginId);
+        if (cached != null) return Optional.of(cached);
+
+        misses.increment();
+        return userRepository.findByLoginId(loginId).map(this::put);
+    }
+
+    public Optional<UserIdentity> byId(long id) {
+        synchronized (this) {
+            String loginId = loginIdById.get(id);
+            if (loginId != null) {
+                UserIdentity cached = cached(loginId);
+                if (cached != null) return Optional.of(cached);
+            }
+        }
+
+        misses.increment();
+        return userRepository.findById(id).map(this::put);
+    }
+
+    /**
+     * 여러 loginId 를 한 번에 (write-behind batch 용)
+     * - 캐시에 없는 것만 IN 쿼리 1번으로 조회, 없는 사용자는 결과에서 빠짐
+     */
+    public Map<String, UserIdentity> byLoginIds(Collection<String> loginIds) {
+        Map<String, UserIdentity> result = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+
+        for (String loginId : loginIds) {
+            UserIdentity cached = cached(loginId);
+            if (cached != null) {
+                result.put(loginId, cached);
+            } else {
+                missing.add(loginId);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            misses.add(missing.size());
+            for (User user : userRepository.findByLoginIdIn(missing)) {
+                UserIdentity identity = put(user);
+                result.put(identity.loginId(), identity);
+            }
+        }
+        return result;
+    }
+
+    // 사용자 정보가 바뀌었을 때 (이름/담당 구역 변경 등)
+    public synchronized void invalidate(String loginId) {
+        Entry removed = byLoginId.remove(loginId);
+        if (removed != null) loginIdById.remove(removed.identity().id());
+    }
+
+    private synchronized UserIdentity cached(String loginId) {
+        Entry entry = byLoginId.get(loginId);
+        if (entry == null) return null;
+
+        if (System.currentTimeMillis() - entry.loadedAt() > ttlMillis) {
+            byLoginId.remove(loginId);
+            loginIdById.remove(entry.identity().id());
+            return null;
+        }
+        hits.increment();
+        return entry.identity();
+    }
+
+    private synchronized UserIdentity put(User user) {
+        UserIdentity identity = UserIdentity.of(user);
+        Entry previous = byLoginId.put(identity.loginId(), new Entry(identity, System.currentTimeMillis()));
+        if (previous != null && previous.identity().id() != identity.id()) {
+            loginIdById.remove(previous.identity().id());
+        }
+        loginIdById.put(identity.id(), identity.loginId());
+        return identity;
+    }
+
+    private record Entry(UserIdentity identity, long loadedAt) { }
+
+    public synchronized Stats getStats() {
+        return new Stats(byLoginId.size(), hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    public record Stats(int size, long hits, long misses, long evictions) { }
+
+    @Scheduled(fixedDelay = 60000)
+    public void logStats() {
+        log.info("[USER-CACHE] {}", getStats());
+    }
+}
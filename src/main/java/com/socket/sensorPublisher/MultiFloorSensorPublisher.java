@@ -2,6 +2,7 @@ package com.socket.sensorPublisher;
 
 import com.google.gson.Gson;
 import com.socket.server.SocketMessage;
+import com.socket.server.WireFormat;
 
 import java.io.BufferedReader;
 import java.io.InputStreamReader;
@@ -14,6 +15,9 @@ public class MultiFloorSensorPublisher {
 
     private static final Gson gson = new Gson();
 
+    // -Dsensor.binary=true 면 SENSOR_DATA 를 바이너리 프레임으로 전송 (서버는 첫 바이트로 구분)
+    private static final boolean BINARY = Boolean.getBoolean("sensor.binary");
+
     // 층/열람실/센서ID 묶어서 관리
     private record SensorConfig(int floor, String room, String sensorId) {}
 
@@ -90,14 +94,18 @@ public class MultiFloorSensorPublisher {
                             .lux(lux)
                             .build();
 
-                    out.println(gson.toJson(dataMsg));
-                    out.flush();
+                    if (BINARY) {
+                        socket.getOutputStream().write(WireFormat.BINARY.codec().encode(dataMsg));
+                    } else {
+                        out.println(gson.toJson(dataMsg));
+                        out.flush();
+                    }
 
                     System.out.printf("[SENSOR %s] SENSOR_DATA 전송: temp=%.2f, co2=%.0f, lux=%.0f%n",
                             cfg.sensorId(), temp, co2, lux);
 
-                    // 서버에서 오는 응답 읽고 싶으면
-                    if (in.ready()) {
+                    // 서버에서 오는 응답 읽고 싶으면 (쌓인 만큼 다 읽어서 서버 송신 대기열이 밀리지 않게)
+                    while (in.ready()) {
                         String line = in.readLine();
                         System.out.println("[FROM SERVER to " + cfg.sensorId() + "] " + line);
                     }
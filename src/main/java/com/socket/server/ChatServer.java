@@ -1,40 +1,127 @@
 package com.socket.server;
 // ServerSocket 열기 + 브로드캐스트 + 클라이언트 리스트 관리
 
-import com.service.ChatMessageService;
-import com.service.CheckinService;
-import com.service.SensorDataService;
+import com.socket.server.handler.HandlerMetrics;
+import com.socket.server.handler.MessageDispatcher;
+import com.socket.server.nio.NioChatEngine;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadMXBean;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.util.Comparator;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Slf4j
 @Component
 public class ChatServer {
 
-    private final int port = 5050;
-    private final ChatMessageService chatMessageService;
-    private final CheckinService checkinService;
-    private final SensorDataService sensorDataService;
+    private final int port;
+    private final String engine;              // classic / nio
+    private final boolean virtualThreads;     // chat.server.execution=virtual
+    private final int nioEventLoopThreads;
+    private final int nioWorkerThreads;
+    private final long pingAfterMillis;       // 이 시간 동안 아무것도 안 보내면 PING
+    private final long idleTimeoutMillis;     // 이 시간 동안 아무것도 안 보내면 연결 정리 (0이면 끔)
+    private final OutboundQueue.Config outboundConfig;
+    private final long backlogDisconnectMillis; // 송신 대기열이 이 시간 넘게 가득 차 있으면 연결 정리
+    private final WriteBatching writeBatching;
+    private final WriteMetrics writeMetrics = new WriteMetrics();
+    private final MessageDispatcher dispatcher;
 
 
-    // 접속 중인 클라이언트 목록
-    private final List<ClientHandler> clients = new CopyOnWriteArrayList<>();
+    // 접속 중인 클라이언트 목록 (연결 종료 시 바로 제거되므로 Set)
+    private final Set<ClientHandler> clients = ConcurrentHashMap.newKeySet();
 
-    public ChatServer(ChatMessageService chatMessageService, CheckinService checkinService
-            , SensorDataService sensorDataService) {
-        this.chatMessageService = chatMessageService;
-        this.checkinService = checkinService;
-        this.sensorDataService = sensorDataService;
+    // 연결 수명 지표
+    private final AtomicLong acceptedConnections = new AtomicLong();
+    private final AtomicLong closedConnections = new AtomicLong();
+    private final AtomicLong reapedConnections = new AtomicLong();
+    private final AtomicLong slowConsumerDisconnects = new AtomicLong();
+
+    // 브로드캐스트 대상 인덱스 ((층, 방) 별 구독자 + 관리자)
+    private final ClientRegistry registry = new ClientRegistry();
+
+    // 내용이 항상 같은 하트비트 프레임은 한 번만 인코딩
+    private static final OutboundFrame PING_FRAME = OutboundFrame.of(SocketMessage.builder()
+            .type("PING")
+            .role("SYSTEM")
+            .sender("SYSTEM")
+            .build());
+
+    public ChatServer(MessageDispatcher dispatcher,
+                      @Value("${chat.server.port:5050}") int port,
+                      @Value("${chat.server.engine:classic}") String engine,
+                      @Value("${chat.server.execution:platform}") String execution,
+                      @Value("${chat.server.nio.event-loop-threads:2}") int nioEventLoopThreads,
+                      @Value("${chat.server.nio.worker-threads:16}") int nioWorkerThreads,
+                      @Value("${chat.server.heartbeat.ping-after-seconds:30}") long pingAfterSeconds,
+                      @Value("${chat.server.heartbeat.idle-timeout-seconds:90}") long idleTimeoutSeconds,
+                      @Value("${chat.server.outbound.capacity:256}") int outboundCapacity,
+                      @Value("${chat.server.outbound.drop-oldest-types:DASHBOARD_UPDATE,SENSOR_DATA}")
+                      Set<String> dropOldestTypes,
+                      @Value("${chat.server.outbound.coalesce-types:SEAT_UPDATE}") Set<String> coalesceTypes,
+                      @Value("${chat.server.outbound.backlog-disconnect-seconds:15}") long backlogDisconnectSeconds,
+                      @Value("${chat.server.write.batching:false}") boolean writeBatchingEnabled,
+                      @Value("${chat.server.write.linger-ms:5}") long writeLingerMillis,
+                      @Value("${chat.server.write.max-batch-bytes:16384}") int writeMaxBatchBytes,
+                      @Value("${chat.server.write.urgent-linger-ms:0}") long writeUrgentLingerMillis,
+                      @Value("${chat.server.write.urgent-types:CHAT,ADMIN_CHAT,ERROR,PONG}") Set<String> urgentTypes) {
+        this.dispatcher = dispatcher;
+        this.port = port;
+        this.engine = engine;
+        this.virtualThreads = "virtual".equalsIgnoreCase(execution);
+        this.nioEventLoopThreads = nioEventLoopThreads;
+        this.nioWorkerThreads = nioWorkerThreads;
+        this.pingAfterMillis = pingAfterSeconds * 1000;
+        this.idleTimeoutMillis = idleTimeoutSeconds * 1000;
+        this.outboundConfig = new OutboundQueue.Config(outboundCapacity, dropOldestTypes, coalesceTypes);
+        this.backlogDisconnectMillis = backlogDisconnectSeconds * 1000;
+        this.writeBatching = writeBatchingEnabled
+                ? new WriteBatching(true, writeLingerMillis, writeMaxBatchBytes, writeUrgentLingerMillis, urgentTypes)
+                : WriteBatching.direct();
     }
 
     public void start() {
-        log.info("[SERVER] 도서관 채팅 서버 시작, 포트: {}", port);
+        if ("nio".equalsIgnoreCase(engine)) {
+            startNio();
+        } else {
+            startClassic();
+        }
+    }
+
+    // NIO 엔진: Selector 이벤트 루프 몇 개로 모든 연결 처리
+    private void startNio() {
+        try {
+            new NioChatEngine(this, port, nioEventLoopThreads, nioWorkerThreads, virtualThreads,
+                    outboundConfig, writeBatching, writeMetrics).start();
+        } catch (IOException e) {
+            log.error("[SERVER] NIO 엔진 초기화 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    // 클래식 엔진: 연결마다 스레드 1개 (platform 또는 virtual)
+    private void startClassic() {
+        log.info("[SERVER] 도서관 채팅 서버 시작, 포트: {} (실행 모드: {})",
+                port, virtualThreads ? "virtual" : "platform");
+
+        // 대부분 readLine() 에서 놀고 있는 연결이라 virtual thread 면 OS 스레드를 점유하지 않음
+        Thread.Builder clientThreads = virtualThreads
+                ? Thread.ofVirtual().name("client-vt-", 0)
+                : Thread.ofPlatform().name("client-", 0);
+        // 연결별 송신 대기열을 비우는 writer
+        Thread.Builder writerThreads = virtualThreads
+                ? Thread.ofVirtual().name("client-writer-vt-", 0)
+                : Thread.ofPlatform().name("client-writer-", 0);
 
         try (ServerSocket serverSocket = new ServerSocket(port)) {
 
@@ -44,14 +131,21 @@ public class ChatServer {
                 log.info("[SERVER] 새 클라이언트 접속: {}", clientSocket.getRemoteSocketAddress());
 
                 // 2) 핸들러 생성 후 리스트에 추가
-                ClientHandler handler =
-                        new ClientHandler(clientSocket, this, chatMessageService,
-                                checkinService, sensorDataService);
-                clients.add(handler);
+                ClientHandler handler;
+                try {
+                    SocketTransport transport =
+                            new SocketTransport(clientSocket, outboundConfig, writeBatching,
+                                    writeMetrics, writerThreads);
+                    handler = new ClientHandler(clientSocket, transport, this, dispatcher);
+                } catch (IOException e) {
+                    log.warn("[SERVER] 클라이언트 스트림 열기 실패: {}", e.getMessage());
+                    clientSocket.close();
+                    continue;
+                }
+                addClient(handler);
 
                 // 3) 스레드로 실행
-                Thread t = new Thread(handler);
-                t.start();
+                clientThreads.start(handler);
             }
 
         } catch (IOException e) {
@@ -59,23 +153,156 @@ public class ChatServer {
         }
     }
 
+    // NIO 엔진처럼 소켓 없이 전송 계층만 있는 연결용 핸들러 생성
+    public ClientHandler createHandler(ClientTransport transport) {
+        return new ClientHandler(transport, this, dispatcher);
+    }
+
+    public void addClient(ClientHandler handler) {
+        clients.add(handler);
+        acceptedConnections.incrementAndGet();
+    }
+
+    // 연결 종료 시 ClientHandler.onDisconnect() 에서 호출
+    public void removeClient(ClientHandler handler) {
+        registry.leave(handler);
+        if (clients.remove(handler)) {
+            closedConnections.incrementAndGet();
+        }
+    }
+
+    // JOIN / JOIN_ROOM 때 호출: 방 구독 갱신 (방 이동이면 이전 방에서 빠짐)
+    public void joinRoom(ClientHandler handler, int floor, String room, String role) {
+        registry.join(handler, floor, room, role);
+    }
+
+    /**
+     * 하트비트 / 유휴 연결 정리
+     * - 마지막 수신 후 ping-after 가 지나면 PING 전송 (정상 클라이언트는 PONG 응답)
+     * - idle-timeout 이 지나도록 아무것도 안 오면 half-open 연결로 보고 강제 종료
+     *   → 닫히면 읽기 쪽(run / NIO 이벤트 루프)에서 onDisconnect() 가 불려 목록에서 빠진다
+     * - 송신 대기열이 backlog-disconnect 이상 계속 가득 차 있으면 느린 수신자로 보고 종료
+     */
+    @Scheduled(fixedDelayString = "${chat.server.heartbeat.check-interval-ms:10000}")
+    public void reapIdleClients() {
+        long now = System.currentTimeMillis();
+        for (ClientHandler client : clients) {
+            long idle = now - client.getLastReadAt();
+            long backlog = client.getOutbound().backlogMillis(now);
+
+            // 느린 수신자: 송신 대기열이 계속 가득 차 있음 (소켓을 안 읽는 클라이언트 포함)
+            if (backlogDisconnectMillis > 0 && backlog >= backlogDisconnectMillis) {
+                log.info("[SERVER] 느린 수신자 연결 정리: {} ({}초 동안 대기열 가득, {})",
+                        client, backlog / 1000, client.getOutbound().stats());
+                slowConsumerDisconnects.incrementAndGet();
+                client.close();
+                continue;
+            }
+
+            if (idleTimeoutMillis <= 0) continue;
+
+            if (idle >= idleTimeoutMillis) {
+                log.info("[SERVER] 유휴 연결 정리: {} ({}초 무응답)", client, idle / 1000);
+                reapedConnections.incrementAndGet();
+                client.close();
+            } else if (idle >= pingAfterMillis) {
+                client.sendFrame(PING_FRAME);
+            }
+        }
+    }
+
+    public int getLiveConnections() {
+        return clients.size();
+    }
+
+    public long getAcceptedConnections() {
+        return acceptedConnections.get();
+    }
+
+    public long getClosedConnections() {
+        return closedConnections.get();
+    }
+
+    public long getReapedConnections() {
+        return reapedConnections.get();
+    }
+
+    public long getSlowConsumerDisconnects() {
+        return slowConsumerDisconnects.get();
+    }
+
+    public WriteMetrics.Snapshot getWriteMetrics() {
+        return writeMetrics.snapshot();
+    }
+
+    // 클라이언트별 송신 대기열 지표 (깊이 큰 순)
+    public List<ClientQueueStats> getOutboundQueueStats() {
+        return clients.stream()
+                .map(c -> new ClientQueueStats(c.toString(), c.getOutbound().stats()))
+                .sorted(Comparator.comparingInt((ClientQueueStats s) -> s.stats().depth()).reversed())
+                .toList();
+    }
+
+    // type 별 처리 건수 / 처리 시간 / OFFLOAD 대기 시간
+    public List<HandlerMetrics.Stats> getHandlerStats() {
+        return dispatcher.getStats();
+    }
+
+    public record ClientQueueStats(String client, OutboundQueue.Stats stats) { }
+
+    /**
+     * 실행 모드(platform / virtual) 비교용 런타임 지표를 1분마다 기록
+     * - ThreadMXBean 은 플랫폼(OS) 스레드만 센다 → virtual 모드에서는 연결 수가 늘어도 거의 그대로
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void logRuntimeStats() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+
+        log.info("[SERVER] 연결 {}개 (누적 접속 {}, 종료 {}, 유휴 정리 {}), 방 {}개",
+                clients.size(), acceptedConnections.get(), closedConnections.get(),
+                reapedConnections.get(), registry.roomCount());
+
+        // 송신 대기열이 가장 밀린 클라이언트 몇 개
+        List<ClientQueueStats> queues = getOutboundQueueStats();
+        log.info("[SERVER] 느린 수신자 정리 {}건, 송신 대기열 상위: {}",
+                slowConsumerDisconnects.get(), queues.subList(0, Math.min(5, queues.size())));
+
+        // 메시지당 write(syscall) 수: 묶음 꺼짐이면 1.0, 켜면 낮아짐
+        WriteMetrics.Snapshot writes = writeMetrics.snapshot();
+        log.info("[SERVER] 소켓 쓰기: 메시지 {}개, write {}번 (메시지당 {}), {}KB (묶음={})",
+                writes.frames(), writes.writes(), String.format("%.3f", writes.writesPerFrame()),
+                writes.bytes() / 1024, writeBatching.enabled());
+
+        // type 별 처리 시간 (INLINE 은 읽는 스레드를 그만큼 잡고 있음)
+        log.info("[SERVER] 메시지 처리 시간: {}", dispatcher.getStats());
+
+        log.info("[SERVER] 플랫폼 스레드 {}개 (최대 {}), 힙 사용 {}MB (엔진={}, 실행={})",
+                threads.getThreadCount(), threads.getPeakThreadCount(),
+                heap.getUsed() / (1024 * 1024), engine, virtualThreads ? "virtual" : "platform");
+    }
+
     /**
      * 같은 층/방 사용자에게 브로드캐스트
      * - floor, room이 null이면 전송 범위를 결정하기 애매해서 일단 무시
      * (필요하면 "전체 방송" 로직 따로 추가 가능)
+     * - 여기서 한 번만 직렬화하고 모든 수신자에게 같은 프레임을 보낸다
      */
     public void broadcast(SocketMessage message, ClientHandler from) {
+        broadcast(OutboundFrame.of(message), from);
+    }
+
+    // 미리 인코딩된 프레임 브로드캐스트 (스케줄러 / 대시보드 / 좌석 업데이트 공통 경로)
+    public void broadcast(OutboundFrame frame, ClientHandler from) {
+        SocketMessage message = frame.message();
         int count = 0;
 
         // 0. 관리자 전용 채팅 처리 ─────────────────────────
-        if ("ADMIN_CHAT".equals(message.getType())) {
-            for (ClientHandler client : clients) {
-                // ClientHandler 안에 role 필드가 있고,
-                // 로그인/JOIN 때 setRole("ADMIN"/"USER") 해준다는 전제
-                if ("ADMIN".equals(client.getRole())) {
-                    client.sendMessage(message);
-                    count++;
-                }
+        if (message.getMessageType() == MessageType.ADMIN_CHAT) {
+            // JOIN 때 role=ADMIN 으로 들어온 클라이언트만 모아둔 집합
+            for (ClientHandler client : registry.admins()) {
+                client.sendFrame(frame);
+                count++;
             }
 
             log.info("[SERVER] ADMIN_CHAT 브로드캐스트 완료 (전송 대상 관리자 {}명)", count);
@@ -92,11 +319,10 @@ public class ChatServer {
             return;
         }
 
-        for (ClientHandler client : clients) {
-            if (client.isSameRoom(msgFloor, msgRoom)) {
-                client.sendMessage(message);
-                count++;
-            }
+        // 전체 스캔 대신 해당 (층, 방) 구독자만
+        for (ClientHandler client : registry.roomMembers(msgFloor, msgRoom)) {
+            client.sendFrame(frame);
+            count++;
         }
 
         log.info("[SERVER] 메시지 브로드캐스트 완료 (type={}, {}층 {}, 전송 대상 {}명)",
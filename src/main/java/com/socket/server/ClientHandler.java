@@ -1,52 +1,62 @@
 package com.socket.server;
 
-import com.exception.AlreadyCheckedInException;
-import com.google.gson.Gson;
 import com.google.gson.JsonSyntaxException;
-import com.service.ChatMessageService;
-import com.service.CheckinService;
-import com.dto.SeatInfoDto;
-import com.service.SensorDataService;
+import com.service.UserIdentity;
+import com.socket.server.codec.JsonMessageCodec;
+import com.socket.server.codec.MessageCodec;
+import com.socket.server.handler.MessageDispatcher;
+import com.socket.server.handler.MessageHandler;
 
 import java.io.*;
 import java.net.Socket;
-import java.util.List;
+import java.nio.ByteBuffer;
+import java.util.concurrent.Executor;
 
 public class ClientHandler implements Runnable {
 
-    private static final Gson gson = new Gson();
+    private static final JsonMessageCodec jsonCodec = (JsonMessageCodec) WireFormat.JSON.codec();
+    private static final MessageCodec binaryCodec = WireFormat.BINARY.codec();
+    private static final int MAX_FRAME_BYTES = 1024 * 1024;
 
-    private final Socket socket;
+    private final Socket socket;              // 클래식 엔진에서만 사용 (NIO 엔진이면 null)
+    private final ClientTransport transport;  // 실제 쓰기 담당
     private final ChatServer server;
-    private final ChatMessageService chatMessageService;
-    private final CheckinService checkinService;
-    private final SensorDataService sensorDataService;
-
-    private PrintWriter out;
-    private BufferedReader in;
-
-    // 이 클라이언트의 정보 저장
-    private int floor;
-    private String room;
-    private String nickname; // sender(userId) 개념
-    private String role;     // USER / ADMIN / SENSOR
-
-    public ClientHandler(Socket socket, ChatServer server,
-                         ChatMessageService chatMessageService,
-                         CheckinService checkinService, SensorDataService sensorDataService) {
+    private final MessageDispatcher dispatcher;  // type 별 핸들러 (JOIN, CHAT, CHECKIN ...)
+    private final Executor offloadExecutor;      // DB 를 쓰는 핸들러용, 이 연결의 작업은 순서대로
+
+    // 이 클라이언트의 정보 저장 (JOIN 은 읽는 스레드, OFFLOAD 핸들러는 디스패치 풀에서 읽음)
+    private volatile int floor;
+    private volatile String room;
+    private volatile String nickname; // sender(userId) 개념
+    private volatile String role;     // USER / ADMIN / SENSOR
+    private volatile UserIdentity identity;  // JOIN 때 조회한 사용자 (users 에 없으면 null)
+
+    // 마지막으로 무언가 받은 시각 (유휴 연결 정리 기준)
+    private volatile long lastReadAt = System.currentTimeMillis();
+
+    // NIO 엔진: 엔진이 읽은 줄을 handleLine() 으로 넘겨준다
+    public ClientHandler(ClientTransport transport, ChatServer server, MessageDispatcher dispatcher) {
+        this(null, transport, server, dispatcher);
+    }
+
+    // 클래식 엔진: 소켓을 직접 읽는 run() 으로 실행 (쓰기는 transport 의 writer 스레드)
+    public ClientHandler(Socket socket, ClientTransport transport, ChatServer server,
+                         MessageDispatcher dispatcher) {
         this.socket = socket;
+        this.transport = transport;
         this.server = server;
-        this.chatMessageService = chatMessageService;
-        this.checkinService = checkinService;
-        this.sensorDataService = sensorDataService;
+        this.dispatcher = dispatcher;
+        this.offloadExecutor = dispatcher.newClientExecutor();
     }
 
-    // 서버가 이 클라이언트에게 메시지를 보낼 때 사용
+    // 서버가 이 클라이언트에게 메시지를 보낼 때 사용 (이 클라이언트 한 명에게만 보내는 경우)
     public void sendMessage(SocketMessage message) {
-        if (out == null) return;
-        String json = gson.toJson(message);
-        out.println(json);
-        out.flush();
+        sendFrame(OutboundFrame.of(message));
+    }
+
+    // 이미 인코딩된 프레임 전송 (브로드캐스트: 수신자 모두 같은 프레임 공유)
+    public void sendFrame(OutboundFrame frame) {
+        transport.send(frame);
     }
 
     // 같은 방(층+구역)인지 구분하는 함수
@@ -79,341 +89,127 @@ public class ClientHandler implements Runnable {
 
 
 
+    // 클래식 엔진 전용: 소켓에서 읽어서 프레임(JSON 줄 / 바이너리)마다 handleLine() / handleBinary() 호출
     @Override
     public void run() {
         try {
-            in = new BufferedReader(
-                    new InputStreamReader(socket.getInputStream()));
-            out = new PrintWriter(socket.getOutputStream(), true);
-
-            String line;
-            while ((line = in.readLine()) != null) {
-                System.out.println("[RAW FROM CLIENT] " + line);
-
-                try {
-                    SocketMessage msg = gson.fromJson(line, SocketMessage.class);
-                    if (msg == null || msg.getType() == null) {
-                        System.out.println("[WARN] type 없는 메시지 무시");
-                        continue;
-                    }
-
-                    String type = msg.getType().toUpperCase();
-
-                    // JOIN / JOIN_ROOM : 클라이언트 메타정보 등록
-                    if ("JOIN".equals(type) || "JOIN_ROOM".equals(type)) {
-
-                        Integer msgFloor = msg.getFloor();
-                        this.floor = (msgFloor != null) ? msgFloor : -1;
-                        this.room = msg.getRoom();         // 3,4,6층은 null
-                        this.nickname = msg.getSender();   // 로그인 아이디
-                        this.role = msg.getRole();         // USER / ADMIN / SENSOR
-
-                        System.out.printf("[JOIN] %s(%s) - %d층 %s%n",
-                                nickname, role, floor, room);
-
-                        // 1) 입장 SYSTEM 알림
-                        SocketMessage notice = SocketMessage.builder()
-                                .type("SYSTEM")
-                                .role("SYSTEM")
-                                .floor(this.floor)
-                                .room(this.room)   // 3,4,6층이면 null
-                                .sender("SYSTEM")
-                                .msg(nickname + " 님이 입장했습니다.")
-                                .build();
-
-                        server.broadcast(notice, this);
-
-                        // 2) 현재 좌석 상태를 이 클라이언트에게만 전송
-                        if (this.floor > 0) {
-                            sendSeatUpdateToOneClient(this.floor, this.room);
-                        }
-                    }
-
-                    // CHAT : 같은 방 사용자에게 브로드캐스트
-                    else if ("CHAT".equals(type)) {
-
-                        // 1) msg에 기본 정보가 비어 있으면, 이 클라이언트에 저장된 값으로 채우기
-                        if (msg.getFloor() == null) {
-                            msg.setFloor(this.floor);
-                        }
-                        if (msg.getRoom() == null) {
-                            msg.setRoom(this.room);
-                        }
-                        if (msg.getSender() == null) {
-                            msg.setSender(this.nickname);  // sender = 로그인 아이디
-                        }
-                        if (msg.getRole() == null) {
-                            msg.setRole(this.role);        // USER / ADMIN
-                        }
-
-                        // 2) DB 저장 (SocketMessage -> ChatMessage 변환 + save)
-                        try {
-                            chatMessageService.saveChat(msg);
-                        } catch (Exception e) {
-                            System.out.println("[ERROR] 채팅 로그 DB 저장 실패: " + e.getMessage());
-                            // 실패해도 채팅 자체는 흘려보내고 싶으면 그냥 진행
-                        }
-
-                        // 3) 동일 방 유저에게 브로드캐스트
-                        server.broadcast(msg, this);
-                    }
-
-                    else if ("ADMIN_CHAT".equals(type)) {
-
-                        // 기본 정보 비어 있으면 this.xxx 로 채우기
-                        if (msg.getFloor() == null)  msg.setFloor(this.floor);
-                        if (msg.getRoom() == null)   msg.setRoom(this.room);   // 방 정보 필요 없으면 그대로 둬도 됨
-                        if (msg.getSender() == null) msg.setSender(this.nickname);
-                        if (msg.getRole() == null)   msg.setRole(this.role);   // "ADMIN"
-
-                        // (원하면 DB 저장도 가능)
-                        try {
-                            chatMessageService.saveChat(msg);   // 관리자인 것도 role 로 같이 저장
-                        } catch (Exception e) {
-                            System.out.println("[ERROR] ADMIN_CHAT DB 저장 실패: " + e.getMessage());
-                        }
-
-                        // ChatServer 쪽에서 ADMIN 들에게만 뿌려줌
-                        server.broadcast(msg, this);
-                    }
-
-                    // CHECKIN 처리
-                    else if ("CHECKIN".equals(type)) {
-                        handleCheckin(msg);
-                    }
-
-                    // AWAY_START 처리
-                    else if ("AWAY_START".equals(type)) {
-                        handleAwayStart(msg);
-                    }
-
-                    // AWAY_BACK 처리
-                    else if ("AWAY_BACK".equals(type)) {
-                        handleAwayBack(msg);
-                    }
-
-                    // CHECKOUT 처리
-                    else if ("CHECKOUT".equals(type)) {
-                        handleCheckout(msg);
-                    }
-
-                    //SENSOR_DATA 처리
-                    else if ("SENSOR_DATA".equals(type)) {
-
-                        // 1) 기본 정보 채우기
-                        if (msg.getFloor() == null) msg.setFloor(this.floor);
-                        if (msg.getRoom() == null) msg.setRoom(this.room);
-                        if (msg.getSender() == null) msg.setSender(this.nickname);
-                        if (msg.getRole() == null) msg.setRole(this.role);
-
-                        System.out.println("[SERVER] SENSOR_DATA 수신:"
-                                + " floor=" + msg.getFloor()
-                                + ", room=" + msg.getRoom()
-                                + ", sender=" + msg.getSender()
-                                + ", temp=" + msg.getTemp()
-                                + ", co2=" + msg.getCo2()
-                                + ", lux=" + msg.getLux());
-
-                        // 2) 센서 데이터 DB/캐시 처리
-                        SensorDataService.SensorSnapshot snapshot =
-                                sensorDataService.handleSensorData(msg);
-
-                        // 3) DASHBOARD_UPDATE 만들어서 같은 room에 브로드캐스트
-                        SocketMessage dashboardMsg = SocketMessage.builder()
-                                .type("DASHBOARD_UPDATE")
-                                .floor(msg.getFloor())
-                                .room(msg.getRoom())
-                                .role("SYSTEM")
-                                .sender("SYSTEM")
-                                .temp(snapshot.temp())
-                                .co2(snapshot.co2())
-                                .lux(snapshot.lux())
-                                .build();
-
-                        server.broadcast(dashboardMsg, null);
-                    }
-
-                    else if ("SEAT_STATUS_REQUEST".equals(type)) {
-                        handleSeatStatusRequest(msg);
-                    }
-
-
-                    else {
-                        System.out.println("[INFO] 처리되지 않은 type: " + msg.getType());
-                    }
-
-                } catch (JsonSyntaxException ex) {
-                    System.out.println("[ERROR] JSON 파싱 실패: " + ex.getMessage());
-                } catch (Exception ex) {
-                    // CHECKIN 등에서 터지는 모든 예외를 여기서 잡고,
-                    //  연결은 유지하면서 로그만 남기기
-                    System.out.println("[ERROR] 메시지 처리 중 예외 발생: " + ex.getMessage());
-                    ex.printStackTrace();
-                }
+            InputStream in = socket.getInputStream();
+            FrameDecoder decoder = new FrameDecoder(MAX_FRAME_BYTES);
+            byte[] chunk = new byte[8 * 1024];
+
+            int n;
+            while ((n = in.read(chunk)) != -1) {
+                decoder.decode(ByteBuffer.wrap(chunk, 0, n), this::handleLine, this::handleBinary);
             }
 
         } catch (IOException e) {
             System.out.println("[ClientHandler] 통신 오류: " + e.getMessage());
         } finally {
-            // 퇴장 SYSTEM 메시지 브로드캐스트
-            if (nickname != null && room != null) {
-                SocketMessage leaveMsg = SocketMessage.builder()
-                        .type("SYSTEM")
-                        .role("SYSTEM")
-                        .floor(this.floor)
-                        .room(this.room)
-                        .sender("SYSTEM")
-                        .msg(nickname + " 님이 퇴장했습니다.")
-                        .build();
-
-                server.broadcast(leaveMsg, this);
-            }
-
-            //server.removeClient(this);
-            try {
-                socket.close();
-            } catch (IOException ignore) {}
+            onDisconnect();
         }
     }
-    // =====================================
-    // 아래부터 좌석 관련 헬퍼 메서드들
-    // =====================================
-
-    /**
-     * CHECKIN 처리 로직
-     * 1. 메시지에 floor/room/userId 기본값 없으면 this.xxx 로 채움
-     * 2. CheckinService.checkin() 호출
-     * 3. 같은 room 사용자들에게 SEAT_UPDATE 브로드캐스트
-     */
-    private void handleCheckin(SocketMessage msg) {
 
-        if (msg.getFloor() == null) msg.setFloor(this.floor);
-        if (msg.getRoom() == null) msg.setRoom(this.room);
-        if (msg.getUserId() == null) msg.setUserId(this.nickname);
-
-        int floor = msg.getFloor();
-        String room = msg.getRoom();
-        int seatNo = msg.getSeatNo();
-        String userId = msg.getUserId();
+    // 클라이언트가 보낸 JSON 한 줄 처리 (클래식/NIO 엔진 공통)
+    public void handleLine(String line) {
+        lastReadAt = System.currentTimeMillis();
+        System.out.println("[RAW FROM CLIENT] " + line);
 
+        SocketMessage msg;
         try {
-            checkinService.checkin(floor, room, seatNo, userId);
-        } catch (Exception ex) {
-            System.out.println("[ERROR] CHECKIN 처리 중 예외 발생: " + ex.getMessage());
-            ex.printStackTrace();
-
-            SocketMessage err = SocketMessage.builder()
-                    .type("ERROR")
-                    .role("SYSTEM")
-                    .floor(this.floor)
-                    .room(this.room)
-                    .sender("SYSTEM")
-                    .msg(ex.getMessage())
-                    .build();
-
-            this.sendMessage(err);
-            return;   // 에러 났으면 SEAT_UPDATE 보내지 말고 종료
+            msg = jsonCodec.decode(line);
+        } catch (JsonSyntaxException ex) {
+            System.out.println("[ERROR] JSON 파싱 실패: " + ex.getMessage());
+            return;
         }
-
-        // 정상 체크인 된 경우에만 SEAT_UPDATE 브로드캐스트
-        sendSeatUpdateToRoom(floor, room);
+        handleMessage(msg);
     }
 
+    // 클라이언트가 보낸 바이너리 프레임 처리 (MAGIC / 길이는 FrameDecoder 가 떼고 본문만 넘어옴)
+    public void handleBinary(byte[] body) {
+        lastReadAt = System.currentTimeMillis();
 
-    /**
-     * AWAY_START 처리 로직
-     * - CheckinService.startAway() 호출 후 SEAT_UPDATE 브로드캐스트
-     */
-    private void handleAwayStart(SocketMessage msg) {
-
-        if (msg.getFloor() == null) msg.setFloor(this.floor);
-        if (msg.getRoom() == null) msg.setRoom(this.room);
-        if (msg.getUserId() == null) msg.setUserId(this.nickname);
+        SocketMessage msg;
+        try {
+            msg = binaryCodec.decode(body);
+        } catch (IllegalArgumentException ex) {
+            System.out.println("[ERROR] 바이너리 프레임 해석 실패: " + ex.getMessage());
+            return;
+        }
+        handleMessage(msg);
+    }
 
-        int floor = msg.getFloor();
-        String room = msg.getRoom();
-        int seatNo = msg.getSeatNo();
-        String userId = msg.getUserId();
+    // 형식(JSON / 바이너리)과 무관한 메시지 처리: type 에 맞는 핸들러로 넘김
+    private void handleMessage(SocketMessage msg) {
+        if (msg == null || msg.getType() == null) {
+            System.out.println("[WARN] type 없는 메시지 무시");
+            return;
+        }
 
-        checkinService.startAway(floor, room, seatNo, userId);
+        // 코덱이 type 을 읽으면서 찾아 둔 enum (모르는 type 이면 null)
+        MessageType type = msg.getMessageType();
 
-        sendSeatUpdateToRoom(floor, room);
+        if (!dispatcher.dispatch(this, type, msg)) {
+            System.out.println("[INFO] 처리되지 않은 type: " + msg.getType());
+        }
     }
 
-    /**
-     * AWAY_BACK 처리 로직
-     * - CheckinService.backFromAway() 호출 후 SEAT_UPDATE 브로드캐스트
-     */
-    private void handleAwayBack(SocketMessage msg) {
-
-        if (msg.getFloor() == null) msg.setFloor(this.floor);
-        if (msg.getRoom() == null) msg.setRoom(this.room);
-        if (msg.getUserId() == null) msg.setUserId(this.nickname);
+    // JOIN / JOIN_ROOM 때 JoinHandler 가 호출
+    public void join(int floor, String room, String nickname, String role, UserIdentity identity,
+                     WireFormat format) {
+        this.floor = floor;
+        this.room = room;
+        this.nickname = nickname;   // 로그인 아이디
+        this.role = role;           // USER / ADMIN / SENSOR
+        this.identity = identity;
 
-        int floor = msg.getFloor();
-        String room = msg.getRoom();
-        int seatNo = msg.getSeatNo();
-        String userId = msg.getUserId();
+        // 이후 이 클라이언트에게 보내는 프레임 형식 (protocol="BINARY" 면 바이너리)
+        transport.useFormat(format);
 
-        checkinService.backFromAway(floor, room, seatNo, userId);
+        System.out.printf("[JOIN] %s(%s) - %d층 %s (%s)%n",
+                nickname, role, floor, room, format);
 
-        sendSeatUpdateToRoom(floor, room);
+        // 방 구독 등록 (브로드캐스트 대상 인덱스)
+        server.joinRoom(this, floor, room, role);
     }
 
-    /**
-     * CHECKOUT 처리 로직
-     * - CheckinService.checkout() 호출 후 SEAT_UPDATE 브로드캐스트
-     */
-    private void handleCheckout(SocketMessage msg) {
+    // 메시지에 비어 있는 기본 정보를 이 클라이언트에 저장된 값으로 채우기
+    public void applyDefaults(SocketMessage msg, MessageHandler.Defaults defaults) {
+        if (defaults == MessageHandler.Defaults.NONE) return;
 
         if (msg.getFloor() == null) msg.setFloor(this.floor);
         if (msg.getRoom() == null) msg.setRoom(this.room);
-        if (msg.getUserId() == null) msg.setUserId(this.nickname);
-
-        int floor = msg.getFloor();
-        String room = msg.getRoom();
-        int seatNo = msg.getSeatNo();
-        String userId = msg.getUserId();
 
-        checkinService.checkout(floor, room, seatNo, userId);
-
-        sendSeatUpdateToRoom(floor, room);
+        if (defaults == MessageHandler.Defaults.SENDER) {
+            if (msg.getSender() == null) msg.setSender(this.nickname);  // sender = 로그인 아이디
+            if (msg.getRole() == null) msg.setRole(this.role);          // USER / ADMIN / SENSOR
+        } else if (defaults == MessageHandler.Defaults.SEAT) {
+            // userId 는 users PK (없으면 예전처럼 로그인 아이디)
+            UserIdentity user = this.identity;
+            if (msg.getUserId() == null) msg.setUserId(user != null ? String.valueOf(user.id()) : this.nickname);
+        }
     }
 
-    /**
-     * SEAT_UPDATE 메시지를 만들어 같은 room의 모든 클라이언트에게 브로드캐스트
-     */
-    private void sendSeatUpdateToRoom(int floor, String room) {
-
-        List<SeatInfoDto> dtoList = checkinService.getSeatStatusesByRoom(floor, room);
-
-        System.out.println("[SEAT_UPDATE] floor=" + floor + ", room=" + room
-                + ", seats size=" + dtoList.size());
-
-        List<SocketMessage.SeatInfo> seatInfos = dtoList.stream()
-                .map(dto -> SocketMessage.SeatInfo.builder()
-                        .seatNo(Integer.parseInt(dto.getSeatNo()))
-                        .state(dto.getStatus().name())
-                        .userId(dto.getUserId() != null ? String.valueOf(dto.getUserId()) : null)
-                        .remainSeconds(dto.getRemainSeconds())
-                        .build()
-                )
-                .toList();
-
-        SocketMessage updateMsg = SocketMessage.builder()
-                .type("SEAT_UPDATE")
-                .floor(floor)
-                .room(room)
-                .role("SYSTEM")
-                .sender("SYSTEM")
-                .seats(seatInfos)
-                .build();
-
-        server.broadcast(updateMsg, null);
-    }
+    // 연결 종료 시 1번 호출 (클래식/NIO 엔진 공통)
+    public void onDisconnect() {
+        // 목록/방 구독부터 해제 → 퇴장 메시지가 닫히는 자기 자신에게 가지 않도록
+        server.removeClient(this);
 
+        // 퇴장 SYSTEM 메시지 브로드캐스트
+        if (nickname != null && room != null) {
+            SocketMessage leaveMsg = SocketMessage.builder()
+                    .type("SYSTEM")
+                    .role("SYSTEM")
+                    .floor(this.floor)
+                    .room(this.room)
+                    .sender("SYSTEM")
+                    .msg(nickname + " 님이 퇴장했습니다.")
+                    .build();
 
+            server.broadcast(leaveMsg, this);
+        }
 
+        transport.close();
+    }
 
     @Override
     public String toString() {
@@ -425,55 +221,46 @@ public class ClientHandler implements Runnable {
                 '}';
     }
 
-    // ClientHandler 안에 추가
-    private void sendSeatUpdateToOneClient(int floor, String room) {
-
-        // 1) 현재 room의 좌석 상태 가져오기
-        List<SeatInfoDto> dtoList = checkinService.getSeatStatusesByRoom(floor, room);
-
-        System.out.println("[SEAT_UPDATE-ONE] floor=" + floor + ", room=" + room
-                + ", seats size=" + dtoList.size());
-
-        // 2) SeatInfoDto -> SocketMessage.SeatInfo 변환
-        List<SocketMessage.SeatInfo> seatInfos = dtoList.stream()
-                .map(dto -> SocketMessage.SeatInfo.builder()
-                        .seatNo(Integer.parseInt(dto.getSeatNo()))
-                        .state(dto.getStatus().name())
-                        .userId(dto.getUserId() != null ? String.valueOf(dto.getUserId()) : null)
-                        .remainSeconds(dto.getRemainSeconds())
-                        .build()
-                )
-                .toList();
-
-        // 3) 메시지 생성
-        SocketMessage updateMsg = SocketMessage.builder()
-                .type("SEAT_UPDATE")
-                .floor(floor)
-                .room(room)
-                .role("SYSTEM")
-                .sender("SYSTEM")
-                .seats(seatInfos)
-                .build();
-
-        // 4) 이 클라이언트에게만 전송
-        this.sendMessage(updateMsg);
+    public int getFloor() {
+        return floor;
     }
 
-    private void handleSeatStatusRequest(SocketMessage msg) {
+    public String getRoom() {
+        return room;
+    }
 
-        if (msg.getFloor() == null) msg.setFloor(this.floor);
-        if (msg.getRoom() == null) msg.setRoom(this.room);
+    public String getNickname() {
+        return nickname;
+    }
 
-        int floor = msg.getFloor();
-        String room = msg.getRoom();
+    public String getRole() {
+        return role;
+    }
 
-        System.out.println("[SEAT_STATUS_REQUEST] floor=" + floor + ", room=" + room);
+    public UserIdentity getIdentity() {
+        return identity;
+    }
 
-        sendSeatUpdateToOneClient(floor, room);
+    public ChatServer getServer() {
+        return server;
     }
 
-    public String getRole() {
-        return role;
+    public Executor getOffloadExecutor() {
+        return offloadExecutor;
+    }
+
+    public long getLastReadAt() {
+        return lastReadAt;
+    }
+
+    // 송신 대기열 (깊이 / 버림 / 밀림 시간)
+    public OutboundQueue getOutbound() {
+        return transport.outbound();
+    }
+
+    // 서버 쪽에서 연결을 끊을 때 (유휴 연결 정리 등)
+    public void close() {
+        transport.close();
     }
 
 }
@@ -0,0 +1,81 @@
+package com.socket.server;
+// (층, 방) 별 구독자 목록 + 관리자 목록
+
+import com.dto.RoomKey;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 브로드캐스트 대상을 전체 클라이언트 스캔 없이 바로 찾기 위한 인덱스
+ * - rooms  : 정규화된 (floor, room) → 그 방에 JOIN 한 클라이언트들
+ * - admins : role=ADMIN 인 클라이언트들 (ADMIN_CHAT 전용)
+ * JOIN / JOIN_ROOM 때 join(), 연결 종료 때 leave() 로 갱신한다.
+ */
+public class ClientRegistry {
+
+    private final Map<RoomKey, Set<ClientHandler>> rooms = new ConcurrentHashMap<>();
+    private final Set<ClientHandler> admins = ConcurrentHashMap.newKeySet();
+
+    // 클라이언트가 현재 들어가 있는 방 (방 이동 시 이전 방에서 빼기 위해)
+    private final Map<ClientHandler, RoomKey> membership = new ConcurrentHashMap<>();
+
+    public void join(ClientHandler client, int floor, String room, String role) {
+        // 센서는 데이터를 보내기만 하고 방 브로드캐스트(DASHBOARD_UPDATE 등)는 읽지 않음
+        // → 구독시키면 송신 대기열만 쌓이므로 방 구독 대상에서 제외
+        if ("SENSOR".equals(role)) {
+            leave(client);
+            return;
+        }
+
+        RoomKey key = RoomKey.of(floor, room);
+
+        RoomKey prev = membership.put(client, key);
+        if (prev != null && !prev.equals(key)) {
+            removeFromRoom(prev, client);
+        }
+
+        // compute 로 묶어야 빈 방 정리(removeFromRoom)와 동시에 일어나도 구독이 유실되지 않음
+        rooms.compute(key, (k, members) -> {
+            if (members == null) members = ConcurrentHashMap.newKeySet();
+            members.add(client);
+            return members;
+        });
+
+        if ("ADMIN".equals(role)) {
+            admins.add(client);
+        } else {
+            admins.remove(client);
+        }
+    }
+
+    public void leave(ClientHandler client) {
+        RoomKey prev = membership.remove(client);
+        if (prev != null) {
+            removeFromRoom(prev, client);
+        }
+        admins.remove(client);
+    }
+
+    public Set<ClientHandler> roomMembers(int floor, String room) {
+        Set<ClientHandler> members = rooms.get(RoomKey.of(floor, room));
+        return members != null ? members : Collections.emptySet();
+    }
+
+    public Set<ClientHandler> admins() {
+        return admins;
+    }
+
+    public int roomCount() {
+        return rooms.size();
+    }
+
+    private void removeFromRoom(RoomKey key, ClientHandler client) {
+        rooms.computeIfPresent(key, (k, members) -> {
+            members.remove(client);
+            return members.isEmpty() ? null : members;
+        });
+    }
+}
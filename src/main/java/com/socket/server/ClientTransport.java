@@ -0,0 +1,24 @@
+package com.socket.server;
+// 클라이언트 한 명에게 데이터를 내보내는 전송 계층 추상화
+
+/**
+ * ClientHandler 는 메시지 처리만 담당하고, 실제 소켓 쓰기는 이 인터페이스에 맡긴다.
+ * - 클래식 엔진: SocketTransport (연결별 대기열 + writer 스레드)
+ * - NIO 엔진: NioConnection (연결별 대기열 + 이벤트 루프)
+ */
+public interface ClientTransport {
+
+    // 미리 인코딩된 프레임 전송 (브로드캐스트 시 모든 수신자가 같은 프레임을 공유)
+    void send(OutboundFrame frame);
+
+    // 이후 프레임을 어떤 형식으로 쓸지 (JOIN 때 클라이언트가 선택, 기본 JSON)
+    void useFormat(WireFormat format);
+
+    // 이 연결의 송신 대기열 (깊이/버림/밀림 지표)
+    OutboundQueue outbound();
+
+    // 연결 종료 (여러 번 호출돼도 안전해야 함)
+    void close();
+
+    String remoteAddress();
+}
@@ -45,7 +45,14 @@ public class ConsoleChatClient {
                         SocketMessage msg = gson.fromJson(line, SocketMessage.class);
                         String type = msg.getType();
 
-                        if ("CHAT".equalsIgnoreCase(type)) {
+                        if ("PING".equalsIgnoreCase(type)) {
+                            // 서버 하트비트 → 응답 안 하면 유휴 연결로 정리됨
+                            out.println(gson.toJson(SocketMessage.builder().type("PONG").build()));
+                        }
+                        else if ("PONG".equalsIgnoreCase(type)) {
+                            // 무시
+                        }
+                        else if ("CHAT".equalsIgnoreCase(type)) {
                             // 일반 채팅
                             System.out.printf("[CHAT][%dF-%s][%s] %s : %s%n",
                                     msg.getFloor(), msg.getRoom(),
@@ -70,6 +77,12 @@ public class ConsoleChatClient {
                                     msg.getFloor(), msg.getRoom(),
                                     msg.getSeats() != null ? msg.getSeats().size() : 0);
                         }
+                        else if ("SEAT_DELTA".equalsIgnoreCase(type)) {
+                            // 바뀐 좌석만 (version 이 건너뛰면 SEAT_STATUS_REQUEST 로 전체 다시 받기)
+                            System.out.printf("[SEAT_DELTA][%dF-%s] v%d 좌석 %d개 변경%n",
+                                    msg.getFloor(), msg.getRoom(), msg.getVersion(),
+                                    msg.getSeats() != null ? msg.getSeats().size() : 0);
+                        }
                         else {
                             // 디버깅용
                             System.out.println("[UNKNOWN] " + line);
@@ -0,0 +1,185 @@
+package com.socket.server;
+// 방별 DASHBOARD_UPDATE 묶음 전송 (최신 값만, 최대 전송 빈도 제한, 변화량 기준)
+
+import com.dto.RoomKey;
+import com.service.SensorDataService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SENSOR_DATA 마다 바로 브로드캐스트하던 DASHBOARD_UPDATE 를 방별로 모아서 보낸다
+ * - 방마다 가장 최근 스냅샷 1개만 들고 있다가 max-rate-hz 를 넘지 않게 전송 (센서 5Hz → 화면 1Hz)
+ * - 마지막으로 보낸 값과 비교해 temp / co2 / lux 가 모두 deadband 안이면 안 보냄
+ *   (조금씩 변하는 값도 누적되면 보내지도록 기준은 "마지막으로 보낸 값")
+ *   단, max-silence-ms 동안 아무것도 안 보냈으면 변화가 없어도 1번 보냄 (새로 들어온 화면 갱신용)
+ * - 전송은 전용 스레드 1개에서 (센서 읽는 스레드는 스냅샷만 바꾸고 바로 돌아감)
+ */
+@Slf4j
+@Component
+public class DashboardCoalescer {
+
+    private final ChatServer server;
+    private final long intervalMillis;
+    private final double tempDeadband;
+    private final double co2Deadband;
+    private final double luxDeadband;
+    private final long maxSilenceMillis;
+
+    private final Map<RoomKey, RoomState> rooms = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService ticker;
+
+    // 지표
+    private final LongAdder received = new LongAdder();     // 들어온 스냅샷
+    private final LongAdder coalesced = new LongAdder();    // 보내기 전에 더 새 값으로 덮인 것
+    private final LongAdder deadbanded = new LongAdder();   // 변화가 작아서 안 보낸 것
+    private final LongAdder sent = new LongAdder();         // 실제 브로드캐스트
+
+    // ChatServer → MessageDispatcher → SensorDataHandler → 여기 순서라 ChatServer 는 처음 쓸 때 가져옴 (@Lazy)
+    public DashboardCoalescer(@Lazy ChatServer server,
+                              @Value("${chat.server.dashboard.max-rate-hz:1}") double maxRateHz,
+                              @Value("${chat.server.dashboard.deadband.temp:0.1}") double tempDeadband,
+                              @Value("${chat.server.dashboard.deadband.co2:10}") double co2Deadband,
+                              @Value("${chat.server.dashboard.deadband.lux:5}") double luxDeadband,
+                              @Value("${chat.server.dashboard.max-silence-ms:30000}") long maxSilenceMillis) {
+        this.server = server;
+        this.intervalMillis = Math.max(1, Math.round(1000 / maxRateHz));
+        this.tempDeadband = tempDeadband;
+        this.co2Deadband = co2Deadband;
+        this.luxDeadband = luxDeadband;
+        this.maxSilenceMillis = maxSilenceMillis;
+
+        this.ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "dashboard-coalescer");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PostConstruct
+    public void start() {
+        // 전송 주기의 1/4 간격으로 확인 → 실제 간격은 interval ~ interval * 1.25
+        long tick = Math.max(10, intervalMillis / 4);
+        ticker.scheduleAtFixedRate(this::tick, tick, tick, TimeUnit.MILLISECONDS);
+        log.info("[DASHBOARD] 방별 최대 {}ms 에 1번, deadband temp={} co2={} lux={}",
+                intervalMillis, tempDeadband, co2Deadband, luxDeadband);
+    }
+
+    @PreDestroy
+    public void stop() {
+        ticker.shutdownNow();
+    }
+
+    // SensorDataHandler 가 측정값마다 호출 (room 은 3,4,6층이면 null)
+    public void offer(int floor, String room, SensorDataService.SensorSnapshot snapshot) {
+        received.increment();
+        RoomState state = rooms.computeIfAbsent(RoomKey.of(floor, room),
+                key -> new RoomState(key.floor(), key.room()));
+
+        synchronized (state) {
+            if (state.latest != null) coalesced.increment();
+            state.latest = snapshot;
+        }
+    }
+
+    private void tick() {
+        long now = System.currentTimeMillis();
+
+        for (RoomState state : rooms.values()) {
+            SensorDataService.SensorSnapshot snapshot;
+
+            synchronized (state) {
+                if (state.latest == null || now - state.sentAt < intervalMillis) continue;
+
+                snapshot = state.latest;
+                state.latest = null;
+
+                if (state.sentAt > 0 && now - state.sentAt < maxSilenceMillis && withinDeadband(state, snapshot)) {
+                    deadbanded.increment();
+                    continue;
+                }
+
+                state.sentTemp = snapshot.temp();
+                state.sentCo2 = snapshot.co2();
+                state.sentLux = snapshot.lux();
+                state.sentAt = now;
+            }
+
+            try {
+                server.broadcast(dashboardUpdate(state, snapshot), null);
+                sent.increment();
+            } catch (Exception e) {
+                log.warn("[DASHBOARD] {}층 {} 전송 실패: {}", state.floor, state.room, e.getMessage());
+            }
+        }
+    }
+
+    private boolean withinDeadband(RoomState state, SensorDataService.SensorSnapshot snapshot) {
+        return near(state.sentTemp, snapshot.temp(), tempDeadband)
+                && near(state.sentCo2, snapshot.co2(), co2Deadband)
+                && near(state.sentLux, snapshot.lux(), luxDeadband);
+    }
+
+    private static boolean near(Double sent, Double now, double deadband) {
+        if (sent == null || now == null) return sent == null && now == null;
+        return Math.abs(now - sent) < deadband;
+    }
+
+    private static SocketMessage dashboardUpdate(RoomState state, SensorDataService.SensorSnapshot snapshot) {
+        return SocketMessage.builder()
+                .type("DASHBOARD_UPDATE")
+                .floor(state.floor)
+                .room(state.room)
+                .role("SYSTEM")
+                .sender("SYSTEM")
+                .temp(snapshot.temp())
+                .co2(snapshot.co2())
+                .lux(snapshot.lux())
+                .build();
+    }
+
+    public Stats getStats() {
+        long sentCount = sent.sum();
+        long suppressed = coalesced.sum() + deadbanded.sum();
+        return new Stats(rooms.size(), received.sum(), sentCount, coalesced.sum(), deadbanded.sum(),
+                sentCount + suppressed == 0 ? 0 : suppressed * 100 / (sentCount + suppressed));
+    }
+
+    // suppressedPercent = (coalesced + deadbanded) / (sent + coalesced + deadbanded)
+    public record Stats(int rooms, long received, long sent, long coalesced, long deadbanded,
+                        long suppressedPercent) { }
+
+    @Scheduled(fixedDelay = 60000)
+    public void logStats() {
+        log.info("[DASHBOARD] {}", getStats());
+    }
+
+    // 방 1개의 대기 중 스냅샷 + 마지막으로 보낸 값 (this 로 동기화)
+    private static final class RoomState {
+        final int floor;
+        final String room;
+
+        SensorDataService.SensorSnapshot latest;   // 아직 안 보낸 최신 값 (없으면 null)
+
+        Double sentTemp;
+        Double sentCo2;
+        Double sentLux;
+        long sentAt;
+
+        RoomState(int floor, String room) {
+            this.floor = floor;
+            this.room = room;
+        }
+    }
+}
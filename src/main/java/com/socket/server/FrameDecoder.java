@@ -0,0 +1,114 @@
+package com.socket.server;
+// 수신 프레임 디코더 (JSON 줄 + 길이 접두 바이너리)
+
+import com.socket.server.codec.BinaryMessageCodec;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * 소켓에서 읽은 바이트를 모아 프레임이 완성될 때마다 넘겨준다.
+ * - 프레임 첫 바이트가 BinaryMessageCodec.MAGIC 이면 [길이 varint][본문] → binary 로 본문 전달
+ * - 그 외에는 '\n' 까지를 JSON 한 줄로 보고 line 으로 전달 (끝의 '\r' 은 제거, BufferedReader.readLine() 과 동일)
+ * - 한 번의 read 에 여러 프레임이 들어오거나, 한 프레임이 여러 read 로 쪼개져도 처리
+ * - 연결마다 하나씩 가지며 그 연결을 읽는 스레드에서만 사용 (동기화 없음)
+ *   클래식 엔진: ClientHandler.run() / NIO 엔진: 이벤트 루프
+ */
+public final class FrameDecoder {
+
+    private enum State { START, LINE, BINARY_LENGTH, BINARY_BODY }
+
+    private final int maxFrameBytes;
+    private State state = State.START;
+
+    // JSON 줄
+    private byte[] buf = new byte[256];
+    private int len;
+
+    // 바이너리
+    private int bodyLength;
+    private int lengthShift;
+    private byte[] body;
+    private int bodyFilled;
+
+    public FrameDecoder(int maxFrameBytes) {
+        this.maxFrameBytes = maxFrameBytes;
+    }
+
+    public void decode(ByteBuffer in, Consumer<String> line, Consumer<byte[]> binary) throws IOException {
+        while (in.hasRemaining()) {
+            switch (state) {
+                case START -> {
+                    byte b = in.get();
+                    if (b == BinaryMessageCodec.MAGIC) {
+                        bodyLength = 0;
+                        lengthShift = 0;
+                        state = State.BINARY_LENGTH;
+                    } else {
+                        state = State.LINE;
+                        lineByte(b, line);
+                    }
+                }
+                case LINE -> lineByte(in.get(), line);
+                case BINARY_LENGTH -> lengthByte(in.get(), binary);
+                case BINARY_BODY -> {
+                    int n = Math.min(in.remaining(), bodyLength - bodyFilled);
+                    in.get(body, bodyFilled, n);
+                    bodyFilled += n;
+                    if (bodyFilled == bodyLength) {
+                        emitBinary(binary);
+                    }
+                }
+            }
+        }
+    }
+
+    private void lineByte(byte b, Consumer<String> line) throws IOException {
+        if (b == '\n') {
+            int end = len;
+            if (end > 0 && buf[end - 1] == '\r') end--;
+            line.accept(new String(buf, 0, end, StandardCharsets.UTF_8));
+            len = 0;
+            state = State.START;
+            return;
+        }
+
+        if (len == maxFrameBytes) {
+            throw new IOException("한 줄 최대 길이 초과 (" + maxFrameBytes + " bytes)");
+        }
+        if (len == buf.length) {
+            buf = Arrays.copyOf(buf, Math.min(buf.length * 2, maxFrameBytes));
+        }
+        buf[len++] = b;
+    }
+
+    private void lengthByte(byte b, Consumer<byte[]> binary) throws IOException {
+        bodyLength |= (b & 0x7F) << lengthShift;
+        lengthShift += 7;
+
+        if ((b & 0x80) != 0) {
+            if (lengthShift >= 35) throw new IOException("바이너리 프레임 길이 형식 오류");
+            return;
+        }
+        if (bodyLength < 0 || bodyLength > maxFrameBytes) {
+            throw new IOException("바이너리 프레임 최대 길이 초과 (" + bodyLength + " bytes)");
+        }
+
+        body = new byte[bodyLength];
+        bodyFilled = 0;
+        state = State.BINARY_BODY;
+        if (bodyLength == 0) {
+            emitBinary(binary);
+        }
+    }
+
+    private void emitBinary(Consumer<byte[]> binary) {
+        byte[] complete = body;
+        body = null;
+        state = State.START;
+        binary.accept(complete);
+    }
+}
@@ -0,0 +1,82 @@
+package com.socket.server;
+// SocketMessage.type 값 목록
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 코덱이 type 문자열을 디코딩하면서 바로 이 enum 으로 바꾼다.
+ * - from() 은 대소문자 구분 없이 찾되 toUpperCase() 같은 중간 문자열을 만들지 않음
+ *   (정확히 같으면 해시 1번, 아니면 길이가 같은 상수 몇 개와만 equalsIgnoreCase)
+ * - 찾은 값은 SocketMessage.messageType 에 들어가서 디스패치 때 다시 찾지 않음
+ * - code 는 바이너리 프로토콜의 type 바이트 (한 번 정하면 바꾸지 말 것, 0 은 "문자열로 따라옴" 예약)
+ */
+public enum MessageType {
+    JOIN(1),
+    JOIN_ROOM(2),
+    CHAT(3),
+    ADMIN_CHAT(4),
+    SYSTEM(5),
+    CHECKIN(6),
+    AWAY_START(7),
+    AWAY_BACK(8),
+    CHECKOUT(9),
+    SENSOR_DATA(10),
+    DASHBOARD_UPDATE(11),
+    SEAT_UPDATE(12),
+    SEAT_STATUS_REQUEST(13),
+    ERROR(14),
+    PING(15),
+    PONG(16),
+    SEAT_DELTA(17);
+
+    private static final MessageType[] VALUES = values();
+    private static final Map<String, MessageType> BY_NAME = new HashMap<>();
+    private static final MessageType[] BY_CODE = new MessageType[256];
+    private static final MessageType[][] BY_LENGTH;
+
+    static {
+        int maxLength = 0;
+        for (MessageType t : VALUES) {
+            BY_NAME.put(t.name(), t);
+            BY_CODE[t.code] = t;
+            maxLength = Math.max(maxLength, t.name().length());
+        }
+
+        BY_LENGTH = new MessageType[maxLength + 1][];
+        for (int len = 0; len <= maxLength; len++) {
+            int length = len;
+            BY_LENGTH[len] = Arrays.stream(VALUES).filter(t -> t.name().length() == length).toArray(MessageType[]::new);
+        }
+    }
+
+    private final int code;
+
+    MessageType(int code) {
+        this.code = code;
+    }
+
+    public int code() {
+        return code;
+    }
+
+    // 모르는 type 이면 null
+    public static MessageType from(String type) {
+        if (type == null) return null;
+
+        MessageType exact = BY_NAME.get(type);
+        if (exact != null) return exact;
+
+        if (type.length() >= BY_LENGTH.length) return null;
+        for (MessageType t : BY_LENGTH[type.length()]) {
+            if (t.name().equalsIgnoreCase(type)) return t;
+        }
+        return null;
+    }
+
+    // 모르는 코드면 null
+    public static MessageType fromCode(int code) {
+        return code >= 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+    }
+}
@@ -0,0 +1,69 @@
+package com.socket.server;
+// 한 번만 직렬화해서 여러 수신자에게 그대로 보내는 송신 프레임
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * SocketMessage 를 형식별(JSON 한 줄 / 바이너리)로 인코딩해 들고 있는 프레임
+ * - 처음 필요해지는 순간 그 형식으로 1번만 인코딩하고 이후엔 재사용
+ *   → 브로드캐스트 1번 = 형식당 직렬화 1번 (JSON 수신자 150명 + 바이너리 수신자 50명이어도 2번)
+ *   → 방에 바이너리 클라이언트가 없으면 바이너리 인코딩은 아예 안 함
+ * - 바이트 배열은 외부에 노출하지 않고, 쓰기용 뷰만 꺼내 준다
+ * - message 는 라우팅(type/floor/room) 확인 + 지연 인코딩용이며 send 후에 수정하면 안 됨
+ */
+public final class OutboundFrame {
+
+    private final SocketMessage message;
+    private volatile byte[] json;
+    private volatile byte[] binary;
+
+    private OutboundFrame(SocketMessage message) {
+        this.message = message;
+    }
+
+    public static OutboundFrame of(SocketMessage message) {
+        return new OutboundFrame(message);
+    }
+
+    public SocketMessage message() {
+        return message;
+    }
+
+    public String type() {
+        return message.getType();
+    }
+
+    // 수신자마다 position 이 따로 움직이도록 매번 새 read-only 뷰 (내용은 공유)
+    public ByteBuffer buffer(WireFormat format) {
+        return ByteBuffer.wrap(encoded(format)).asReadOnlyBuffer();
+    }
+
+    public void writeTo(OutputStream out, WireFormat format) throws IOException {
+        out.write(encoded(format));
+    }
+
+    public int length(WireFormat format) {
+        return encoded(format).length;
+    }
+
+    // 여러 writer 가 동시에 처음 꺼내도 형식당 인코딩은 1번만
+    private byte[] encoded(WireFormat format) {
+        byte[] bytes = format == WireFormat.BINARY ? binary : json;
+        if (bytes != null) return bytes;
+
+        synchronized (this) {
+            bytes = format == WireFormat.BINARY ? binary : json;
+            if (bytes == null) {
+                bytes = format.codec().encode(message);
+                if (format == WireFormat.BINARY) {
+                    binary = bytes;
+                } else {
+                    json = bytes;
+                }
+            }
+            return bytes;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.socket.server;
+// 연결별 송신 대기열 (크기 제한 + 느린 수신자 정책)
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 브로드캐스트하는 스레드(ClientHandler, CheckinScheduler 등)는 여기에 넣기만 하고 바로 리턴,
+ * 실제 소켓 쓰기는 연결마다 있는 writer(클래식: writer 스레드 / NIO: 이벤트 루프)가 꺼내서 한다.
+ * → 수신자 한 명이 막혀도 다른 수신자에게 보내는 게 늦어지지 않음
+ *
+ * 가득 찼거나 쌓일 때의 정책 (type 별로 설정)
+ * - COALESCE    : 같은 (type, floor, room) 프레임이 대기 중이면 옛것을 버리고 새것만 유지 (SEAT_UPDATE 전체 스냅샷)
+ * - DROP_OLDEST : 가득 차면 대기 중인 DROP_OLDEST 프레임 중 가장 오래된 것부터 버림 (DASHBOARD_UPDATE 등)
+ * - 그 외       : 가득 차면 DROP_OLDEST 프레임을 먼저 비우고, 그래도 자리가 없으면 새 프레임을 버림
+ * 가득 찬 상태가 이어진 시간(backlogMillis)은 ChatServer 가 보고 일정 시간 넘으면 연결을 끊는다.
+ */
+public class OutboundQueue {
+
+    public record Config(int capacity, Set<String> dropOldestTypes, Set<String> coalesceTypes) { }
+
+    private final Config config;
+    private final ArrayDeque<OutboundFrame> frames = new ArrayDeque<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+
+    private boolean closed;
+    private long backlogSince;   // 가득 찬 시각 (0이면 밀려 있지 않음)
+
+    // 지표
+    private int peakDepth;
+    private long enqueued;
+    private long dropped;
+    private long coalesced;
+
+    public OutboundQueue(Config config) {
+        this.config = config;
+    }
+
+    /**
+     * 프레임 넣기 (절대 블로킹하지 않음)
+     * @return 대기열에 들어갔으면 true, 정책상 버려졌으면 false
+     */
+    public boolean offer(OutboundFrame frame) {
+        lock.lock();
+        try {
+            if (closed) return false;
+
+            if (hasType(config.coalesceTypes(), frame) && removePending(frame)) {
+                coalesced++;
+            }
+
+            if (frames.size() >= config.capacity()) {
+                markBacklog();
+
+                // 자리 만들기: 버려도 되는 프레임 중 가장 오래된 것
+                if (!removeOldestDroppable()) {
+                    dropped++;
+                    return false;
+                }
+                dropped++;
+            }
+
+            frames.addLast(frame);
+            enqueued++;
+            if (frames.size() > peakDepth) peakDepth = frames.size();
+            if (frames.size() >= config.capacity()) markBacklog();
+
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // NIO 이벤트 루프용: 없으면 바로 null
+    public OutboundFrame poll() {
+        lock.lock();
+        try {
+            OutboundFrame frame = frames.pollFirst();
+            if (frame != null) afterRemove();
+            return frame;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 클래식 writer 스레드용: 올 때까지 대기, 닫히면 null
+    public OutboundFrame take() throws InterruptedException {
+        lock.lock();
+        try {
+            while (frames.isEmpty() && !closed) {
+                notEmpty.await();
+            }
+            if (closed) return null;
+
+            OutboundFrame frame = frames.pollFirst();
+            afterRemove();
+            return frame;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 묶음 쓰기용: 최대 timeoutNanos 만큼 기다려 보고 없으면 null
+    public OutboundFrame poll(long timeoutNanos) throws InterruptedException {
+        lock.lock();
+        try {
+            long remaining = timeoutNanos;
+            while (frames.isEmpty() && !closed && remaining > 0) {
+                remaining = notEmpty.awaitNanos(remaining);
+            }
+
+            OutboundFrame frame = frames.pollFirst();
+            if (frame != null) afterRemove();
+            return frame;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            frames.clear();
+            backlogSince = 0;
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int depth() {
+        lock.lock();
+        try {
+            return frames.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 가득 찬 상태가 지금까지 이어진 시간 (밀려 있지 않으면 0)
+    public long backlogMillis(long nowMillis) {
+        lock.lock();
+        try {
+            return backlogSince == 0 ? 0 : nowMillis - backlogSince;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Stats stats() {
+        lock.lock();
+        try {
+            return new Stats(frames.size(), peakDepth, enqueued, dropped, coalesced);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public record Stats(int depth, int peakDepth, long enqueued, long dropped, long coalesced) { }
+
+    // ───────────── 내부 (lock 잡은 상태에서만 호출) ─────────────
+
+    private void markBacklog() {
+        if (backlogSince == 0) {
+            backlogSince = System.currentTimeMillis();
+        }
+    }
+
+    // 절반 아래로 빠지면 밀림 해제 (가득 참 ↔ 한 칸 빔 사이에서 깜빡이지 않도록)
+    private void afterRemove() {
+        if (backlogSince != 0 && frames.size() <= config.capacity() / 2) {
+            backlogSince = 0;
+        }
+    }
+
+    private static boolean hasType(Set<String> types, OutboundFrame frame) {
+        return frame.type() != null && types.contains(frame.type());
+    }
+
+    private boolean removePending(OutboundFrame incoming) {
+        SocketMessage in = incoming.message();
+        Iterator<OutboundFrame> it = frames.iterator();
+        while (it.hasNext()) {
+            SocketMessage pending = it.next().message();
+            if (in.getType().equals(pending.getType())
+                    && Objects.equals(in.getFloor(), pending.getFloor())
+                    && Objects.equals(in.getRoom(), pending.getRoom())) {
+                it.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean removeOldestDroppable() {
+        Iterator<OutboundFrame> it = frames.iterator();
+        while (it.hasNext()) {
+            if (hasType(config.dropOldestTypes(), it.next())) {
+                it.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,210 @@
+package com.socket.server;
+// 방(floor, room)별 단일 스레드로 좌석 명령 실행 + tick 단위 SEAT_DELTA / SEAT_UPDATE 묶음
+
+import com.dto.RoomKey;
+import com.dto.SeatInfoDto;
+import com.service.CheckinService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * chat.server.seat.executor=room 일 때 좌석 명령(CHECKIN / AWAY_* / CHECKOUT / SEAT_STATUS_REQUEST)을
+ * 연결별 디스패치 풀 대신 방마다 스레드 1개에서 도착 순서대로 실행한다 (shared 면 이 클래스는 쓰이지 않음)
+ * - 한 방의 명령은 한 줄로 → 같은 방끼리 좌석 잠금 경합 / DB 커넥션 경쟁이 없음, 방(층)이 다르면 다른 스레드
+ * - tick: 명령 1개가 오면 tick-ms 동안 뒤따라 온 명령까지 이어서 실행하고 끝에서 한 번에 전송
+ *   · 바뀐 좌석은 좌석별 마지막 상태만 모아서 SEAT_DELTA 1개 (version 도 1만 증가)
+ *   · SEAT_STATUS_REQUEST 는 같은 tick 안에서 만든 스냅샷 1개를 같이 씀
+ *     (tick 도중 상태가 들어간 스냅샷이어도 뒤따르는 SEAT_DELTA 가 같은 값을 다시 쓰는 것이라 문제 없음)
+ * - 자동 퇴실 / 관리자 reload 는 지금처럼 SeatUpdatePublisher 로 바로 나감
+ * - 파티션은 좌석이 있는 방(SeatStateEngine 에 등록된 방)에만 만듦
+ *   클라이언트가 보낸 아무 floor / room 으로 스레드가 생기지 않도록, 없는 방의 명령은 연결별 디스패치 풀에서 (shared 와 같은 경로)
+ */
+@Slf4j
+@Component
+public class SeatPartitions {
+
+    // 지금 실행 중인 파티션 (파티션 스레드에서만 값이 있음)
+    private static final ThreadLocal<Partition> CURRENT = new ThreadLocal<>();
+
+    private final SeatUpdatePublisher seatUpdatePublisher;
+    private final CheckinService checkinService;
+    private final boolean enabled;
+    private final long tickNanos;
+
+    private final Map<RoomKey, Partition> partitions = new ConcurrentHashMap<>();
+    private volatile boolean running = true;
+
+    // 지표
+    private final LongAdder commands = new LongAdder();        // 파티션에서 실행한 작업
+    private final LongAdder ticks = new LongAdder();           // tick 수 (= 전송 묶음 수)
+    private final LongAdder changedSeats = new LongAdder();    // 명령이 바꾼 좌석 (중복 포함)
+    private final LongAdder deltas = new LongAdder();          // 실제로 보낸 SEAT_DELTA
+    private final LongAdder sharedSnapshots = new LongAdder(); // 같은 tick 의 스냅샷을 다시 쓴 횟수
+    private final LongAdder unknownRooms = new LongAdder();    // 없는 방이라 파티션 대신 fallback 으로 보낸 작업
+
+    public SeatPartitions(SeatUpdatePublisher seatUpdatePublisher,
+                          CheckinService checkinService,
+                          @Value("${chat.server.seat.executor:shared}") String executor,
+                          @Value("${chat.server.seat.tick-ms:10}") long tickMillis) {
+        this.seatUpdatePublisher = seatUpdatePublisher;
+        this.checkinService = checkinService;
+        this.enabled = "room".equalsIgnoreCase(executor);
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, tickMillis));
+
+        if (enabled) {
+            log.info("[SEAT-PARTITION] 방별 단일 스레드 실행, tick {}ms", tickMillis);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // 이 방의 파티션 (처음 쓰일 때 스레드 시작), floor 가 없거나 좌석이 없는 방이면 fallback
+    public Executor executor(Integer floor, String room, Executor fallback) {
+        if (floor == null) return fallback;
+
+        RoomKey key = RoomKey.of(floor, room);
+        Partition p = partitions.get(key);
+        if (p != null) return p;
+
+        if (!checkinService.hasRoom(floor, room)) {
+            unknownRooms.increment();
+            return fallback;
+        }
+        return partitions.computeIfAbsent(key, Partition::new);
+    }
+
+    // 좌석 명령 후: 파티션 스레드면 tick 끝에 모아서, 아니면 바로 SEAT_DELTA
+    public void publishDelta(int floor, String room, SeatInfoDto changed) {
+        Partition p = current(floor, room);
+        if (p == null) {
+            seatUpdatePublisher.publishDelta(floor, room, changed);
+            return;
+        }
+        changedSeats.increment();
+        p.pending.put(changed.getSeatId(), changed);   // 같은 좌석이 또 바뀌면 마지막 상태만
+    }
+
+    // SEAT_STATUS_REQUEST: 파티션 스레드면 이번 tick 의 스냅샷을 같이 씀
+    public SocketMessage snapshot(int floor, String room) {
+        Partition p = current(floor, room);
+        if (p == null) return seatUpdatePublisher.snapshot(floor, room);
+
+        if (p.snapshot == null) {
+            p.snapshot = seatUpdatePublisher.snapshot(floor, room);
+        } else {
+            sharedSnapshots.increment();
+        }
+        return p.snapshot;
+    }
+
+    private static Partition current(int floor, String room) {
+        Partition p = CURRENT.get();
+        return p != null && p.key.equals(RoomKey.of(floor, room)) ? p : null;
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        partitions.values().forEach(p -> p.thread.interrupt());
+    }
+
+    public Stats getStats() {
+        return new Stats(partitions.size(), commands.sum(), ticks.sum(), changedSeats.sum(), deltas.sum(),
+                sharedSnapshots.sum(), unknownRooms.sum());
+    }
+
+    public record Stats(int partitions, long commands, long ticks, long changedSeats, long deltas,
+                        long sharedSnapshots, long unknownRooms) { }
+
+    @Scheduled(fixedDelay = 60000)
+    public void logStats() {
+        if (enabled) log.info("[SEAT-PARTITION] {}", getStats());
+    }
+
+    /**
+     * 방 1개: 작업 대기열 + 전용 스레드
+     * pending / snapshot 은 이 파티션 스레드만 읽고 씀
+     */
+    private final class Partition implements Executor {
+        final RoomKey key;
+        final BlockingQueue<Runnable> tasks = new LinkedBlockingQueue<>();
+        final Thread thread;
+
+        final Map<Long, SeatInfoDto> pending = new LinkedHashMap<>();
+        SocketMessage snapshot;
+
+        Partition(RoomKey key) {
+            this.key = key;
+            this.thread = new Thread(this::loop, "seat-" + key.floor() + (key.room() != null ? key.room() : ""));
+            this.thread.setDaemon(true);
+            this.thread.start();
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            tasks.add(task);
+        }
+
+        private void loop() {
+            CURRENT.set(this);
+            try {
+                while (running) {
+                    Runnable task = tasks.take();
+                    long tickEnd = System.nanoTime() + tickNanos;
+
+                    // tick 동안 들어온 것까지 이어서 (tick-ms=0 이면 이미 쌓여 있는 것만)
+                    while (task != null) {
+                        run(task);
+                        long remaining = tickEnd - System.nanoTime();
+                        task = remaining > 0 ? tasks.poll(remaining, TimeUnit.NANOSECONDS) : tasks.poll();
+                    }
+                    flush();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                CURRENT.remove();
+            }
+        }
+
+        private void run(Runnable task) {
+            commands.increment();
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                // MessageDispatcher 가 핸들러 예외를 먼저 잡지만, 파티션 스레드는 어떤 경우에도 멈추지 않게
+                log.error("[SEAT-PARTITION] {}층 {} 작업 실패: {}", key.floor(), key.room(), e.getMessage(), e);
+            }
+        }
+
+        private void flush() {
+            ticks.increment();
+            snapshot = null;
+            if (pending.isEmpty()) return;
+
+            try {
+                seatUpdatePublisher.publishDelta(key.floor(), key.room(), new ArrayList<>(pending.values()));
+                deltas.increment();
+            } catch (Exception e) {
+                log.warn("[SEAT-PARTITION] {}층 {} SEAT_DELTA 전송 실패: {}", key.floor(), key.room(), e.getMessage());
+            } finally {
+                pending.clear();
+            }
+        }
+    }
+}
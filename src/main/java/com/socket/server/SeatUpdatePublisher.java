@@ -0,0 +1,85 @@
+package com.socket.server;
+// 방별 좌석 버전 관리 + SEAT_UPDATE / SEAT_DELTA 전송
+
+import com.dto.RoomKey;
+import com.dto.SeatInfoDto;
+import com.service.CheckinService;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 좌석이 바뀔 때마다 방 전체를 다시 조회해서 보내던 것을 바뀐 좌석만 보내도록
+ * - 방마다 version 을 두고 좌석이 바뀔 때마다 1 증가 (서버 메모리, 재시작하면 0부터 → 재접속 JOIN 때 스냅샷을 다시 받음)
+ * - SEAT_UPDATE : 방 전체 스냅샷 + 현재 version (JOIN, SEAT_STATUS_REQUEST / 관리자 reload 때는 새 version 으로 방 전체에)
+ * - SEAT_DELTA  : 바뀐 좌석만 + 새 version (CHECKIN / AWAY_START / AWAY_BACK / CHECKOUT, 자동 퇴실)
+ *
+ * 클라이언트 규칙
+ * - SEAT_UPDATE 를 받으면 좌석 상태를 통째로 바꾸고 version 을 기억
+ * - SEAT_DELTA 는 version == 기억한 값 + 1 일 때만 적용, 그보다 작으면 무시
+ * - 그보다 크면 (중간 메시지 유실 / 송신 대기열에서 버려짐) SEAT_STATUS_REQUEST 로 전체 다시 받기
+ *
+ * 순서 보장
+ * - version 증가와 브로드캐스트를 방 단위 락 안에서 해서 같은 방의 SEAT_DELTA 가 version 순서대로 송신 대기열에 들어감
+ * - 스냅샷은 version 을 먼저 읽고 좌석 상태(SeatStateEngine)를 읽음 → 그 version 까지의 변경은 이미 반영된 상태라 모두 포함됨
+ *   (읽는 사이에 반영된 변경이 더 들어 있을 수 있지만, 뒤따르는 SEAT_DELTA 가 같은 값을 다시 쓰는 것이라 문제 없음)
+ */
+@Component
+public class SeatUpdatePublisher {
+
+    private final CheckinService checkinService;
+    private final ChatServer server;
+
+    private final Map<RoomKey, RoomVersion> versions = new ConcurrentHashMap<>();
+
+    // ChatServer → MessageDispatcher → 좌석 핸들러 → 여기 순서라 ChatServer 는 처음 쓸 때 가져옴 (@Lazy)
+    public SeatUpdatePublisher(CheckinService checkinService, @Lazy ChatServer server) {
+        this.checkinService = checkinService;
+        this.server = server;
+    }
+
+    // JOIN / SEAT_STATUS_REQUEST : 요청한 클라이언트에게 보낼 전체 스냅샷
+    public SocketMessage snapshot(int floor, String room) {
+        long version = roomVersion(floor, room).version;   // 반드시 좌석 상태보다 먼저 읽기
+        return SeatUpdates.of(floor, room, version, checkinService.getSeatStatusesByRoom(floor, room));
+    }
+
+    // 좌석 명령 처리(커밋) 후: 바뀐 좌석만 같은 방에 브로드캐스트
+    public void publishDelta(int floor, String room, SeatInfoDto changed) {
+        publishDelta(floor, room, List.of(changed));
+    }
+
+    // 자동 퇴실처럼 한 방에서 여러 좌석이 한 번에 바뀐 경우도 SEAT_DELTA 1개 (version 도 1만 증가)
+    public void publishDelta(int floor, String room, List<SeatInfoDto> changed) {
+        RoomVersion rv = roomVersion(floor, room);
+
+        synchronized (rv) {
+            rv.version++;
+            server.broadcast(SeatUpdates.delta(floor, room, rv.version, changed), null);
+        }
+    }
+
+    // 관리자 요청으로 방을 DB 기준으로 다시 채운 뒤: 방 전체 스냅샷을 새 version 으로 브로드캐스트
+    public List<SeatInfoDto> reload(int floor, String room) {
+        RoomVersion rv = roomVersion(floor, room);
+
+        synchronized (rv) {
+            List<SeatInfoDto> seats = checkinService.reloadRoom(floor, room);
+            rv.version++;
+            server.broadcast(SeatUpdates.of(floor, room, rv.version, seats), null);
+            return seats;
+        }
+    }
+
+    private RoomVersion roomVersion(int floor, String room) {
+        return versions.computeIfAbsent(RoomKey.of(floor, room), key -> new RoomVersion());
+    }
+
+    // 쓰기는 this 락 안에서만, 스냅샷은 락 없이 읽음
+    private static final class RoomVersion {
+        volatile long version;
+    }
+}
@@ -0,0 +1,45 @@
+package com.socket.server;
+// SEAT_UPDATE / SEAT_DELTA 메시지 만들기 (SeatUpdatePublisher 공통)
+
+import com.dto.SeatInfoDto;
+
+import java.util.List;
+
+public final class SeatUpdates {
+
+    private SeatUpdates() {
+    }
+
+    // SeatInfoDto 목록 → 방 하나의 SEAT_UPDATE (방의 좌석 전체, 빈 좌석은 state=EMPTY)
+    public static SocketMessage of(int floor, String room, long version, List<SeatInfoDto> dtoList) {
+        return build("SEAT_UPDATE", floor, room, version, dtoList);
+    }
+
+    // 바뀐 좌석만 담은 SEAT_DELTA (CHECKOUT 된 좌석은 state=EMPTY 로 들어감)
+    public static SocketMessage delta(int floor, String room, long version, List<SeatInfoDto> changed) {
+        return build("SEAT_DELTA", floor, room, version, changed);
+    }
+
+    private static SocketMessage build(String type, int floor, String room, long version, List<SeatInfoDto> dtoList) {
+
+        List<SocketMessage.SeatInfo> seatInfos = dtoList.stream()
+                .map(dto -> SocketMessage.SeatInfo.builder()
+                        .seatNo(Integer.parseInt(dto.getSeatNo()))
+                        .state(dto.getStatus().name())
+                        .userId(dto.getUserId() != null ? String.valueOf(dto.getUserId()) : null)
+                        .remainSeconds(dto.getRemainSeconds())
+                        .build()
+                )
+                .toList();
+
+        return SocketMessage.builder()
+                .type(type)
+                .floor(floor)
+                .room(room)
+                .role("SYSTEM")
+                .sender("SYSTEM")
+                .seats(seatInfos)
+                .version(version)
+                .build();
+    }
+}
@@ -28,9 +28,38 @@ public class SocketMessage {
     private Double co2;
     private Double lux;
 
-    // 좌석 목록 (SEAT_UPDATE 에서 사용)
+    // 좌석 목록 (SEAT_UPDATE: 방 전체 / SEAT_DELTA: 바뀐 좌석만)
     private List<SeatInfo> seats;
 
+    // 방별 좌석 버전 (SEAT_UPDATE / SEAT_DELTA, 좌석이 바뀔 때마다 1씩 증가)
+    private Long version;
+
+    // JOIN 에서만 사용: "BINARY" 면 이후 서버 → 클라이언트 프레임을 바이너리로 (없으면 JSON)
+    private String protocol;
+
+    // type 을 enum 으로 바꾼 값 (전송하지 않음, 코덱이 type 을 읽으면서 같이 채움 / 모르는 type 이면 null)
+    @Setter(AccessLevel.NONE)
+    private transient MessageType messageType;
+
+    public void setType(String type) {
+        this.type = type;
+        this.messageType = null;   // 다음 getMessageType() 에서 다시 찾음
+    }
+
+    // 코덱용: 이미 찾은 enum 을 그대로 (type 은 enum 상수 이름 → 문자열을 새로 만들지 않음)
+    public void setType(MessageType type) {
+        this.type = type != null ? type.name() : null;
+        this.messageType = type;
+    }
+
+    // 디스패치용: 코덱을 거친 메시지는 찾아 둔 값, builder 로 만든 메시지는 처음 부를 때 한 번 찾음
+    public MessageType getMessageType() {
+        if (messageType == null && type != null) {
+            messageType = MessageType.from(type);
+        }
+        return messageType;
+    }
+
     /**
      * 좌석 상태 정보 (클라이언트 SocketMessage.SeatInfo 와 동일 구조)
      */
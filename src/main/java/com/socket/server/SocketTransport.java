@@ -0,0 +1,115 @@
+package com.socket.server;
+// 클래식(연결당 스레드) 엔진용 전송 계층
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+
+/**
+ * send() 는 연결별 대기열(OutboundQueue)에 넣기만 하고,
+ * 이 연결 전용 writer 스레드가 꺼내서 OutputStream 에 쓴다.
+ * - 느린 수신자의 소켓 write 가 막혀도 막히는 건 이 writer 뿐 (브로드캐스트하는 스레드는 안 기다림)
+ * - PrintWriter(synchronized) 를 쓰지 않으므로 virtual thread pinning 도 없음
+ * - 묶음 모드면 linger 시간 / 바이트 상한 안에서 모인 프레임을 write 1번으로 보냄 (WriteBatching)
+ */
+public class SocketTransport implements ClientTransport {
+
+    private final Socket socket;
+    private final OutputStream out;
+    private final OutboundQueue queue;
+    private final WriteBatching batching;
+    private final WriteMetrics metrics;
+    private volatile WireFormat format = WireFormat.JSON;
+
+    public SocketTransport(Socket socket, OutboundQueue.Config queueConfig, WriteBatching batching,
+                           WriteMetrics metrics, Thread.Builder writerThreads) throws IOException {
+        this.socket = socket;
+        this.out = socket.getOutputStream();
+        this.queue = new OutboundQueue(queueConfig);
+        this.batching = batching;
+        this.metrics = metrics;
+
+        writerThreads.start(this::writeLoop);
+    }
+
+    @Override
+    public void send(OutboundFrame frame) {
+        queue.offer(frame);
+    }
+
+    @Override
+    public void useFormat(WireFormat format) {
+        this.format = format;
+    }
+
+    private void writeLoop() {
+        try {
+            if (batching.enabled()) {
+                writeBatched();
+            } else {
+                writeDirect();
+            }
+        } catch (IOException | InterruptedException e) {
+            // 쓰기 실패 = 상대가 끊겼거나 느린 수신자로 정리됨 → 소켓 닫으면 읽기 쪽(run)에서 종료 처리
+            close();
+        }
+    }
+
+    // 프레임 1개 = write 1번
+    private void writeDirect() throws IOException, InterruptedException {
+        OutboundFrame frame;
+        while ((frame = queue.take()) != null) {
+            WireFormat f = format;
+            frame.writeTo(out, f);
+            metrics.record(1, frame.length(f));
+        }
+    }
+
+    // linger 시간 / 바이트 상한 안에서 모인 프레임을 한 번에
+    private void writeBatched() throws IOException, InterruptedException {
+        ByteArrayOutputStream batch = new ByteArrayOutputStream(batching.maxBatchBytes());
+
+        OutboundFrame frame;
+        while ((frame = queue.take()) != null) {
+            batch.reset();
+            int frames = 0;
+            long deadline = System.nanoTime() + batching.lingerNanos(frame);
+
+            while (frame != null) {
+                frame.writeTo(batch, format);
+                frames++;
+                if (batch.size() >= batching.maxBatchBytes()) break;
+
+                // 채팅 같은 급한 프레임이 들어오면 마감을 앞당김
+                long now = System.nanoTime();
+                deadline = Math.min(deadline, now + batching.lingerNanos(frame));
+
+                // 마감이 지났어도 이미 쌓여 있는 건 같이 보냄
+                long wait = deadline - now;
+                frame = wait > 0 ? queue.poll(wait) : queue.poll();
+            }
+
+            batch.writeTo(out);
+            metrics.record(frames, batch.size());
+        }
+    }
+
+    @Override
+    public OutboundQueue outbound() {
+        return queue;
+    }
+
+    @Override
+    public void close() {
+        queue.close();
+        try {
+            socket.close();
+        } catch (IOException ignore) {}
+    }
+
+    @Override
+    public String remoteAddress() {
+        return String.valueOf(socket.getRemoteSocketAddress());
+    }
+}
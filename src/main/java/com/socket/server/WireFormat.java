@@ -0,0 +1,31 @@
+package com.socket.server;
+// 서버 → 클라이언트 프레임 형식
+
+import com.socket.server.codec.BinaryMessageCodec;
+import com.socket.server.codec.JsonMessageCodec;
+import com.socket.server.codec.MessageCodec;
+
+/**
+ * - JSON   : 기존 방식, JSON 한 줄 + '\n' (JsonMessageCodec)
+ * - BINARY : 길이 접두 바이너리 (BinaryMessageCodec), JOIN 때 protocol="BINARY" 로 선택
+ * 클라이언트 → 서버 방향은 첫 바이트로 구분하므로 선택 없이 둘 다 받는다.
+ */
+public enum WireFormat {
+    JSON(new JsonMessageCodec()),
+    BINARY(new BinaryMessageCodec());
+
+    private final MessageCodec codec;
+
+    WireFormat(MessageCodec codec) {
+        this.codec = codec;
+    }
+
+    public MessageCodec codec() {
+        return codec;
+    }
+
+    // JOIN 의 protocol 값 → 형식 (없거나 모르는 값이면 JSON)
+    public static WireFormat from(String protocol) {
+        return "BINARY".equalsIgnoreCase(protocol) ? BINARY : JSON;
+    }
+}
@@ -0,0 +1,29 @@
+package com.socket.server;
+// 소켓 쓰기 묶음(write coalescing) 설정
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 여러 프레임을 모아서 write/flush 1번으로 내보내기 위한 설정
+ * - enabled=false        : 프레임 1개 = write 1번 (기존 방식)
+ * - lingerMillis         : 첫 프레임 이후 이 시간 동안 더 오는 프레임을 같이 묶음 (SEAT_UPDATE + SYSTEM + DASHBOARD 연달아 오는 경우)
+ * - maxBatchBytes        : 묶음 크기 상한 (넘으면 바로 씀)
+ * - urgentLingerMillis   : 채팅처럼 지연에 민감한 type 이 묶음에 들어오면 이 시간 안에 반드시 씀 (기본 0 = 이미 쌓인 것만 같이 보냄)
+ */
+public record WriteBatching(boolean enabled, long lingerMillis, int maxBatchBytes,
+                            long urgentLingerMillis, Set<String> urgentTypes) {
+
+    public static WriteBatching direct() {
+        return new WriteBatching(false, 0, 0, 0, Set.of());
+    }
+
+    public boolean isUrgent(OutboundFrame frame) {
+        return frame.type() != null && urgentTypes.contains(frame.type());
+    }
+
+    // 이 프레임이 묶음에 들어왔을 때 최대 얼마나 더 기다려도 되는지
+    public long lingerNanos(OutboundFrame frame) {
+        return TimeUnit.MILLISECONDS.toNanos(isUrgent(frame) ? urgentLingerMillis : lingerMillis);
+    }
+}
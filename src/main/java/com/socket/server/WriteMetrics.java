@@ -0,0 +1,34 @@
+package com.socket.server;
+// 소켓 쓰기 지표 (메시지당 write 호출 수)
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 모든 연결의 writer 가 공유하는 카운터
+ * - frames : 내보낸 메시지(프레임) 수
+ * - writes : 소켓 write 호출 수 (= syscall 수, NIO 는 gathering write 1번을 1로 셈)
+ * writesPerFrame 이 1.0 이면 메시지마다 syscall 1번 (묶음 없음), 낮을수록 잘 묶이고 있음
+ */
+public class WriteMetrics {
+
+    private final LongAdder frames = new LongAdder();
+    private final LongAdder writes = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+
+    public void record(int frameCount, long byteCount) {
+        frames.add(frameCount);
+        writes.increment();
+        bytes.add(byteCount);
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(frames.sum(), writes.sum(), bytes.sum());
+    }
+
+    public record Snapshot(long frames, long writes, long bytes) {
+
+        public double writesPerFrame() {
+            return frames == 0 ? 0 : (double) writes / frames;
+        }
+    }
+}
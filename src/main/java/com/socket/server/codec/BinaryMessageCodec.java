@@ -0,0 +1,349 @@
+package com.socket.server.codec;
+// 길이 접두 바이너리 프레임 인코더/디코더
+
+import com.socket.server.MessageType;
+import com.socket.server.SocketMessage;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 프레임 = [MAGIC 0xB1][본문 길이 varint][본문]
+ * 본문   = [type 1byte][필드 비트마스크 varint][있는 필드만 순서대로]
+ *
+ * - MAGIC 0xB1 은 UTF-8 문자의 첫 바이트가 될 수 없어서, JSON 줄과 같은 연결에 섞여 와도 첫 바이트로 구분된다.
+ * - type(MessageType.code) / role / 좌석 상태는 코드 1바이트 (모르는 값은 코드 0 + 문자열)
+ * - floor, seatNo, remainSeconds 는 zigzag varint, 좌석 version 은 varint(long)
+ * - temp / co2 / lux 는 float(4byte) → 받는 쪽에서 Double 로 되돌림 (센서 값이라 float 정밀도로 충분)
+ * - seats 는 [개수][seatNo 차이값 varint...][상태 2bit 씩 묶음][좌석별 userId, remainSeconds]
+ *   → 좌석마다 "seatNo","state","userId" 키를 반복하지 않음
+ */
+public final class BinaryMessageCodec implements MessageCodec {
+
+    public static final byte MAGIC = (byte) 0xB1;
+
+    // role 코드 (인덱스 = 코드, 0 은 "문자열로 따라옴")
+    private static final String[] ROLES = {null, "USER", "ADMIN", "SENSOR", "SYSTEM"};
+
+    // 좌석 상태 코드 (2bit, 3 은 "문자열로 따라옴")
+    private static final String[] SEAT_STATES = {"EMPTY", "IN_USE", "AWAY"};
+    private static final int SEAT_STATE_OTHER = 3;
+
+    // 필드 비트
+    private static final int F_FLOOR = 1;
+    private static final int F_ROOM = 1 << 1;
+    private static final int F_ROLE = 1 << 2;
+    private static final int F_SENDER = 1 << 3;
+    private static final int F_MSG = 1 << 4;
+    private static final int F_SEAT_NO = 1 << 5;
+    private static final int F_USER_ID = 1 << 6;
+    private static final int F_TEMP = 1 << 7;
+    private static final int F_CO2 = 1 << 8;
+    private static final int F_LUX = 1 << 9;
+    private static final int F_SEATS = 1 << 10;
+    private static final int F_PROTOCOL = 1 << 11;
+    private static final int F_VERSION = 1 << 12;
+
+    // ─────────────────────── 인코딩 ───────────────────────
+
+    // MAGIC + 길이까지 붙인 완성된 프레임
+    @Override
+    public byte[] encode(SocketMessage m) {
+        Writer body = new Writer();
+
+        writeType(body, m);
+
+        int fields = 0;
+        if (m.getFloor() != null) fields |= F_FLOOR;
+        if (m.getRoom() != null) fields |= F_ROOM;
+        if (m.getRole() != null) fields |= F_ROLE;
+        if (m.getSender() != null) fields |= F_SENDER;
+        if (m.getMsg() != null) fields |= F_MSG;
+        if (m.getSeatNo() != null) fields |= F_SEAT_NO;
+        if (m.getUserId() != null) fields |= F_USER_ID;
+        if (m.getTemp() != null) fields |= F_TEMP;
+        if (m.getCo2() != null) fields |= F_CO2;
+        if (m.getLux() != null) fields |= F_LUX;
+        if (m.getSeats() != null) fields |= F_SEATS;
+        if (m.getProtocol() != null) fields |= F_PROTOCOL;
+        if (m.getVersion() != null) fields |= F_VERSION;
+        body.varint(fields);
+
+        if (m.getFloor() != null) body.zigzag(m.getFloor());
+        if (m.getRoom() != null) body.string(m.getRoom());
+        if (m.getRole() != null) writeCode(body, ROLES, m.getRole());
+        if (m.getSender() != null) body.string(m.getSender());
+        if (m.getMsg() != null) body.string(m.getMsg());
+        if (m.getSeatNo() != null) body.zigzag(m.getSeatNo());
+        if (m.getUserId() != null) body.string(m.getUserId());
+        if (m.getTemp() != null) body.float32(m.getTemp());
+        if (m.getCo2() != null) body.float32(m.getCo2());
+        if (m.getLux() != null) body.float32(m.getLux());
+        if (m.getSeats() != null) writeSeats(body, m.getSeats());
+        if (m.getProtocol() != null) body.string(m.getProtocol());
+        if (m.getVersion() != null) body.varlong(m.getVersion());
+
+        Writer frame = new Writer();
+        frame.write(MAGIC);
+        frame.varint(body.size());
+        body.writeTo(frame);
+        return frame.toByteArray();
+    }
+
+    private static void writeSeats(Writer out, List<SocketMessage.SeatInfo> seats) {
+        int count = seats.size();
+        out.varint(count);
+
+        // seatNo: 보통 1,2,3... 이라 차이값이 1바이트
+        int prev = 0;
+        for (SocketMessage.SeatInfo s : seats) {
+            int no = s.getSeatNo() != null ? s.getSeatNo() : 0;
+            out.zigzag(no - prev);
+            prev = no;
+        }
+
+        // 상태: 좌석 4개당 1바이트
+        byte[] packed = new byte[(count + 3) / 4];
+        for (int i = 0; i < count; i++) {
+            packed[i / 4] |= (byte) (seatStateCode(seats.get(i).getState()) << ((i % 4) * 2));
+        }
+        out.write(packed, 0, packed.length);
+
+        // 좌석별 선택 필드: userId (길이+1, 0=null), remainSeconds (zigzag+1, 0=null)
+        for (SocketMessage.SeatInfo s : seats) {
+            if (seatStateCode(s.getState()) == SEAT_STATE_OTHER) {
+                out.nullableString(s.getState());
+            }
+            out.nullableString(s.getUserId());
+            out.varint(s.getRemainSeconds() == null ? 0 : zigzag(s.getRemainSeconds()) + 1);
+        }
+    }
+
+    private static int seatStateCode(String state) {
+        for (int i = 0; i < SEAT_STATES.length; i++) {
+            if (SEAT_STATES[i].equals(state)) return i;
+        }
+        return SEAT_STATE_OTHER;
+    }
+
+    private static void writeType(Writer out, SocketMessage m) {
+        MessageType t = m.getMessageType();
+        if (t != null) {
+            out.write(t.code());
+        } else {
+            out.write(0);
+            out.nullableString(m.getType());
+        }
+    }
+
+    private static void writeCode(Writer out, String[] table, String value) {
+        for (int i = 1; i < table.length; i++) {
+            if (table[i].equals(value)) {
+                out.write(i);
+                return;
+            }
+        }
+        out.write(0);
+        out.nullableString(value);
+    }
+
+    // ─────────────────────── 디코딩 ───────────────────────
+
+    // MAGIC, 길이를 뗀 본문 → SocketMessage
+    @Override
+    public SocketMessage decode(byte[] body) {
+        try {
+            ByteBuffer in = ByteBuffer.wrap(body);
+            SocketMessage m = new SocketMessage();
+
+            readType(in, m);
+            int fields = readVarint(in);
+
+            if ((fields & F_FLOOR) != 0) m.setFloor(readZigzag(in));
+            if ((fields & F_ROOM) != 0) m.setRoom(readString(in));
+            if ((fields & F_ROLE) != 0) m.setRole(readCode(in, ROLES));
+            if ((fields & F_SENDER) != 0) m.setSender(readString(in));
+            if ((fields & F_MSG) != 0) m.setMsg(readString(in));
+            if ((fields & F_SEAT_NO) != 0) m.setSeatNo(readZigzag(in));
+            if ((fields & F_USER_ID) != 0) m.setUserId(readString(in));
+            if ((fields & F_TEMP) != 0) m.setTemp((double) in.getFloat());
+            if ((fields & F_CO2) != 0) m.setCo2((double) in.getFloat());
+            if ((fields & F_LUX) != 0) m.setLux((double) in.getFloat());
+            if ((fields & F_SEATS) != 0) m.setSeats(readSeats(in));
+            if ((fields & F_PROTOCOL) != 0) m.setProtocol(readString(in));
+            if ((fields & F_VERSION) != 0) m.setVersion(readVarlong(in));
+
+            return m;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("바이너리 프레임이 잘림 (" + body.length + " bytes)");
+        }
+    }
+
+    private static List<SocketMessage.SeatInfo> readSeats(ByteBuffer in) {
+        int count = readVarint(in);
+        if (count > in.remaining()) {
+            throw new IllegalArgumentException("좌석 개수가 프레임보다 큼: " + count);
+        }
+
+        int[] seatNos = new int[count];
+        int prev = 0;
+        for (int i = 0; i < count; i++) {
+            prev += readZigzag(in);
+            seatNos[i] = prev;
+        }
+
+        byte[] packed = new byte[(count + 3) / 4];
+        in.get(packed);
+
+        List<SocketMessage.SeatInfo> seats = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int code = (packed[i / 4] >> ((i % 4) * 2)) & 0b11;
+            String state = code == SEAT_STATE_OTHER ? readNullableString(in) : SEAT_STATES[code];
+            String userId = readNullableString(in);
+            int remain = readVarint(in);
+
+            seats.add(SocketMessage.SeatInfo.builder()
+                    .seatNo(seatNos[i])
+                    .state(state)
+                    .userId(userId)
+                    .remainSeconds(remain == 0 ? null : unzigzag(remain - 1))
+                    .build());
+        }
+        return seats;
+    }
+
+    // 코드 → enum 을 그대로 넣음 (문자열은 enum 상수 이름, 새로 만들지 않음)
+    private static void readType(ByteBuffer in, SocketMessage m) {
+        int code = in.get() & 0xFF;
+        if (code == 0) {
+            m.setType(readNullableString(in));
+            return;
+        }
+
+        MessageType t = MessageType.fromCode(code);
+        if (t == null) {
+            throw new IllegalArgumentException("알 수 없는 type 코드: " + code);
+        }
+        m.setType(t);
+    }
+
+    private static String readCode(ByteBuffer in, String[] table) {
+        int code = in.get() & 0xFF;
+        if (code == 0) return readNullableString(in);
+        if (code >= table.length) {
+            throw new IllegalArgumentException("알 수 없는 코드: " + code);
+        }
+        return table[code];
+    }
+
+    private static int readVarint(ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = in.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IllegalArgumentException("varint 가 너무 김");
+    }
+
+    private static long readVarlong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IllegalArgumentException("varint 가 너무 김");
+    }
+
+    private static int readZigzag(ByteBuffer in) {
+        return unzigzag(readVarint(in));
+    }
+
+    private static String readString(ByteBuffer in) {
+        int len = readVarint(in);
+        return readUtf8(in, len);
+    }
+
+    private static String readNullableString(ByteBuffer in) {
+        int len = readVarint(in);
+        return len == 0 ? null : readUtf8(in, len - 1);
+    }
+
+    private static String readUtf8(ByteBuffer in, int len) {
+        if (len < 0 || len > in.remaining()) {
+            throw new IllegalArgumentException("문자열 길이가 프레임보다 큼: " + len);
+        }
+        String s = new String(in.array(), in.arrayOffset() + in.position(), len, StandardCharsets.UTF_8);
+        in.position(in.position() + len);
+        return s;
+    }
+
+    private static int zigzag(int v) {
+        return (v << 1) ^ (v >> 31);
+    }
+
+    private static int unzigzag(int v) {
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    // ByteArrayOutputStream 에 varint / 문자열 / float 쓰기 추가
+    private static final class Writer extends ByteArrayOutputStream {
+
+        Writer() {
+            super(64);
+        }
+
+        void varint(int v) {
+            while ((v & ~0x7F) != 0) {
+                write((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            write(v);
+        }
+
+        void varlong(long v) {
+            while ((v & ~0x7FL) != 0) {
+                write((int) (v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            write((int) v);
+        }
+
+        void zigzag(int v) {
+            varint(BinaryMessageCodec.zigzag(v));
+        }
+
+        void string(String s) {
+            byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+            varint(utf8.length);
+            write(utf8, 0, utf8.length);
+        }
+
+        void nullableString(String s) {
+            if (s == null) {
+                varint(0);
+                return;
+            }
+            byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+            varint(utf8.length + 1);
+            write(utf8, 0, utf8.length);
+        }
+
+        void float32(double v) {
+            int bits = Float.floatToIntBits((float) v);
+            write(bits >>> 24);
+            write(bits >>> 16);
+            write(bits >>> 8);
+            write(bits);
+        }
+
+        void writeTo(Writer other) {
+            other.write(buf, 0, count);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.socket.server.codec;
+// JSON 한 줄 코덱 (SocketMessageTypeAdapter 로 스트리밍 읽기/쓰기)
+
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.socket.server.SocketMessage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 기존 gson.toJson(msg) + "\n" / gson.fromJson(line, SocketMessage.class) 를 대신한다.
+ * - 출력 바이트는 new Gson() 과 동일 (html-safe 이스케이프, null 필드 생략)
+ * - 읽기도 Gson 과 동일하게 lenient, 빈 줄이면 null, 뒤에 남는 내용이 있으면 JsonSyntaxException
+ */
+public class JsonMessageCodec implements MessageCodec {
+
+    private final SocketMessageTypeAdapter adapter = new SocketMessageTypeAdapter();
+
+    @Override
+    public byte[] encode(SocketMessage message) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try {
+            JsonWriter writer = new JsonWriter(new OutputStreamWriter(bytes, StandardCharsets.UTF_8));
+            writer.setHtmlSafe(true);
+            writer.setSerializeNulls(false);
+            adapter.write(writer, message);
+            writer.flush();
+        } catch (IOException e) {
+            // 메모리 버퍼라 실제로는 일어나지 않음
+            throw new UncheckedIOException(e);
+        }
+        bytes.write('\n');
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public SocketMessage decode(byte[] body) {
+        return decode(new String(body, StandardCharsets.UTF_8));
+    }
+
+    public SocketMessage decode(String line) {
+        JsonReader reader = new JsonReader(new StringReader(line));
+        reader.setLenient(true);
+        try {
+            try {
+                reader.peek();
+            } catch (EOFException empty) {
+                return null;
+            }
+
+            SocketMessage message = adapter.read(reader);
+            if (reader.peek() != JsonToken.END_DOCUMENT) {
+                throw new JsonSyntaxException("JSON document was not fully consumed.");
+            }
+            return message;
+        } catch (IOException | IllegalStateException | NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+}
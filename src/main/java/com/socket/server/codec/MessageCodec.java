@@ -0,0 +1,20 @@
+package com.socket.server.codec;
+// SocketMessage ↔ 바이트 프레임 변환 SPI
+
+import com.socket.server.SocketMessage;
+
+/**
+ * 와이어 형식(WireFormat)마다 구현체 1개
+ * - JsonMessageCodec   : JSON 한 줄 (기존 Gson 출력과 바이트 단위로 동일)
+ * - BinaryMessageCodec : 길이 접두 바이너리
+ * 둘 다 리플렉션 없이 필드를 직접 읽고 쓰며, 상태가 없어서 여러 스레드에서 같이 써도 된다.
+ */
+public interface MessageCodec {
+
+    // 바로 소켓에 쓸 수 있는 프레임 1개 (JSON: 줄 + '\n' / 바이너리: MAGIC + 길이 + 본문)
+    byte[] encode(SocketMessage message);
+
+    // FrameDecoder 가 잘라 준 본문 (JSON: '\n' 뺀 줄 / 바이너리: MAGIC, 길이 뺀 본문)
+    // 형식이 잘못되면 RuntimeException (JSON: JsonSyntaxException / 바이너리: IllegalArgumentException)
+    SocketMessage decode(byte[] body);
+}
@@ -0,0 +1,198 @@
+package com.socket.server.codec;
+// SocketMessage / SeatInfo 전용 Gson TypeAdapter (리플렉션 없음)
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.socket.server.MessageType;
+import com.socket.server.SocketMessage;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * new Gson().toJson / fromJson 과 같은 결과가 나오도록 손으로 쓴 어댑터
+ * - 쓰기: 필드 선언 순서대로, null 필드는 생략 (Gson 기본값과 동일)
+ * - 읽기: 모르는 필드는 건너뜀, 숫자/문자열 호환 규칙도 Gson 기본 어댑터와 동일
+ * - type 은 읽는 즉시 MessageType 으로 바꿔 SocketMessage 에 같이 넣고, 아는 type 이면 enum 이름(상수 문자열)으로 통일
+ *   (JsonReader.nextString() 이 만드는 문자열 1개는 남음 — Gson 스트림 API 로는 피할 수 없음)
+ * SocketMessage 에 필드를 추가하면 여기에도 같이 추가해야 한다.
+ */
+public class SocketMessageTypeAdapter extends TypeAdapter<SocketMessage> {
+
+    @Override
+    public void write(JsonWriter out, SocketMessage m) throws IOException {
+        if (m == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginObject();
+        writeString(out, "type", m.getType());
+        writeNumber(out, "floor", m.getFloor());
+        writeString(out, "room", m.getRoom());
+        writeString(out, "role", m.getRole());
+        writeString(out, "sender", m.getSender());
+        writeString(out, "msg", m.getMsg());
+        writeNumber(out, "seatNo", m.getSeatNo());
+        writeString(out, "userId", m.getUserId());
+        writeNumber(out, "temp", m.getTemp());
+        writeNumber(out, "co2", m.getCo2());
+        writeNumber(out, "lux", m.getLux());
+        if (m.getSeats() != null) {
+            out.name("seats");
+            writeSeats(out, m.getSeats());
+        }
+        writeNumber(out, "version", m.getVersion());
+        writeString(out, "protocol", m.getProtocol());
+        out.endObject();
+    }
+
+    @Override
+    public SocketMessage read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        SocketMessage m = new SocketMessage();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "type" -> readType(in, m);
+                case "floor" -> m.setFloor(readInt(in));
+                case "room" -> m.setRoom(readString(in));
+                case "role" -> m.setRole(readString(in));
+                case "sender" -> m.setSender(readString(in));
+                case "msg" -> m.setMsg(readString(in));
+                case "seatNo" -> m.setSeatNo(readInt(in));
+                case "userId" -> m.setUserId(readString(in));
+                case "temp" -> m.setTemp(readDouble(in));
+                case "co2" -> m.setCo2(readDouble(in));
+                case "lux" -> m.setLux(readDouble(in));
+                case "seats" -> m.setSeats(readSeats(in));
+                case "version" -> m.setVersion(readLong(in));
+                case "protocol" -> m.setProtocol(readString(in));
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+        return m;
+    }
+
+    // ─────────────────────── SeatInfo ───────────────────────
+
+    private static void writeSeats(JsonWriter out, List<SocketMessage.SeatInfo> seats) throws IOException {
+        out.beginArray();
+        for (SocketMessage.SeatInfo s : seats) {
+            if (s == null) {
+                out.nullValue();
+                continue;
+            }
+            out.beginObject();
+            writeNumber(out, "seatNo", s.getSeatNo());
+            writeString(out, "state", s.getState());
+            writeString(out, "userId", s.getUserId());
+            writeNumber(out, "remainSeconds", s.getRemainSeconds());
+            out.endObject();
+        }
+        out.endArray();
+    }
+
+    private static List<SocketMessage.SeatInfo> readSeats(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        List<SocketMessage.SeatInfo> seats = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                seats.add(null);
+                continue;
+            }
+
+            SocketMessage.SeatInfo s = new SocketMessage.SeatInfo();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "seatNo" -> s.setSeatNo(readInt(in));
+                    case "state" -> s.setState(readString(in));
+                    case "userId" -> s.setUserId(readString(in));
+                    case "remainSeconds" -> s.setRemainSeconds(readInt(in));
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            seats.add(s);
+        }
+        in.endArray();
+        return seats;
+    }
+
+    // ─────────────────────── 값 읽기/쓰기 ───────────────────────
+
+    private static void writeString(JsonWriter out, String name, String value) throws IOException {
+        if (value != null) {
+            out.name(name).value(value);
+        }
+    }
+
+    private static void writeNumber(JsonWriter out, String name, Number value) throws IOException {
+        if (value != null) {
+            out.name(name).value(value);
+        }
+    }
+
+    // 아는 type 이면 enum 을 같이 넣고 문자열은 enum 상수 이름 ("chat" → "CHAT", 대문자 문자열을 새로 만들지 않음)
+    private static void readType(JsonReader in, SocketMessage m) throws IOException {
+        String raw = readString(in);
+        MessageType type = MessageType.from(raw);
+        if (type != null) {
+            m.setType(type);
+        } else {
+            m.setType(raw);
+        }
+    }
+
+    // Gson 기본 String 어댑터와 동일: true/false 도 문자열로 받음
+    private static String readString(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        if (token == JsonToken.BOOLEAN) {
+            return Boolean.toString(in.nextBoolean());
+        }
+        return in.nextString();
+    }
+
+    private static Integer readInt(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextInt();
+    }
+
+    private static Long readLong(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextLong();
+    }
+
+    private static Double readDouble(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextDouble();
+    }
+}
@@ -0,0 +1,43 @@
+package com.socket.server.handler;
+
+import com.service.ChatWriteBehindService;
+import com.socket.server.ClientHandler;
+import com.socket.server.MessageType;
+import com.socket.server.SocketMessage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * CHAT       : 같은 방 사용자에게 브로드캐스트
+ * ADMIN_CHAT : ChatServer 쪽에서 ADMIN 들에게만 뿌려줌
+ * 둘 다 먼저 브로드캐스트하고, DB 저장은 write-behind 대기열에 넘김 (MySQL 이 느려도 채팅 지연 없음)
+ */
+@Component
+@RequiredArgsConstructor
+public class ChatHandler implements MessageHandler {
+
+    private final ChatWriteBehindService chatWriteBehindService;
+
+    @Override
+    public Set<MessageType> types() {
+        return EnumSet.of(MessageType.CHAT, MessageType.ADMIN_CHAT);
+    }
+
+    @Override
+    public Defaults defaults() {
+        return Defaults.SENDER;
+    }
+
+    @Override
+    public void handle(ClientHandler client, SocketMessage msg) {
+
+        // 1) 동일 방 유저(ADMIN_CHAT 이면 관리자)에게 브로드캐스트
+        client.getServer().broadcast(msg, client);
+
+        // 2) DB 저장은 백그라운드 writer 가 묶어서 처리, 관리자인 것도 role 로 같이 저장
+        chatWriteBehindService.enqueue(msg, client.getIdentity());
+    }
+}
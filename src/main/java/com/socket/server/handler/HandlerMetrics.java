@@ -0,0 +1,49 @@
+package com.socket.server.handler;
+// type 별 처리 시간 지표
+
+import com.socket.server.MessageType;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * - handled / failed : 처리 건수 / 예외로 끝난 건수
+ * - 처리 시간        : handle() 실행 시간 (평균 / 최대)
+ * - 대기 시간        : OFFLOAD / ROOM 일 때 디스패치 풀 / 방 전용 스레드에서 차례를 기다린 시간 (INLINE 은 0)
+ */
+public class HandlerMetrics {
+
+    private final MessageType type;
+    private final MessageHandler.Execution execution;
+
+    private final LongAdder handled = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    HandlerMetrics(MessageType type, MessageHandler.Execution execution) {
+        this.type = type;
+        this.execution = execution;
+    }
+
+    void record(long waitNanos, long elapsedNanos, boolean success) {
+        handled.increment();
+        if (!success) failed.increment();
+        totalNanos.add(elapsedNanos);
+        totalWaitNanos.add(waitNanos);
+        maxNanos.accumulate(elapsedNanos);
+    }
+
+    Stats snapshot() {
+        long count = handled.sum();
+        return new Stats(type, execution, count, failed.sum(),
+                count == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalNanos.sum() / count),
+                TimeUnit.NANOSECONDS.toMicros(maxNanos.get()),
+                count == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalWaitNanos.sum() / count));
+    }
+
+    public record Stats(MessageType type, MessageHandler.Execution execution, long handled, long failed,
+                        long avgMicros, long maxMicros, long avgWaitMicros) { }
+}
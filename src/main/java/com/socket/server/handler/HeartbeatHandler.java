@@ -0,0 +1,30 @@
+package com.socket.server.handler;
+
+import com.socket.server.ClientHandler;
+import com.socket.server.MessageType;
+import com.socket.server.SocketMessage;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+// 하트비트: PING 에는 PONG 으로 응답, PONG 은 lastReadAt 갱신만 (handleLine 에서 이미 됨)
+@Component
+public class HeartbeatHandler implements MessageHandler {
+
+    @Override
+    public Set<MessageType> types() {
+        return EnumSet.of(MessageType.PING, MessageType.PONG);
+    }
+
+    @Override
+    public void handle(ClientHandler client, SocketMessage msg) {
+        if (msg.getMessageType() == MessageType.PING) {
+            client.sendMessage(SocketMessage.builder()
+                    .type("PONG")
+                    .role("SYSTEM")
+                    .sender("SYSTEM")
+                    .build());
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.socket.server.handler;
+
+import com.service.UserIdentity;
+import com.service.UserIdentityCache;
+import com.socket.server.ClientHandler;
+import com.socket.server.MessageType;
+import com.socket.server.SeatUpdatePublisher;
+import com.socket.server.SocketMessage;
+import com.socket.server.WireFormat;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * JOIN / JOIN_ROOM : 클라이언트 메타정보 등록
+ * 뒤따르는 CHAT 등이 이 정보(floor/room)를 쓰므로 INLINE 으로 바로 처리
+ * sender(로그인 아이디)로 사용자를 여기서 1번만 찾아 세션에 붙여 둠 → 이후 채팅/체크인은 users 조회 없음
+ */
+@Component
+@RequiredArgsConstructor
+public class JoinHandler implements MessageHandler {
+
+    private final SeatUpdatePublisher seatUpdatePublisher;
+    private final UserIdentityCache identityCache;
+
+    @Override
+    public Set<MessageType> types() {
+        return EnumSet.of(MessageType.JOIN, MessageType.JOIN_ROOM);
+    }
+
+    @Override
+    public void handle(ClientHandler client, SocketMessage msg) {
+
+        Integer msgFloor = msg.getFloor();
+        int floor = (msgFloor != null) ? msgFloor : -1;
+        String room = msg.getRoom();         // 3,4,6층은 null
+
+        // 0) 메타정보 + 사용자 정보 + 방 구독 등록 + 이후 보낼 프레임 형식
+        client.join(floor, room, msg.getSender(), msg.getRole(), findIdentity(msg.getSender()),
+                WireFormat.from(msg.getProtocol()));
+
+        // 1) 입장 SYSTEM 알림
+        SocketMessage notice = SocketMessage.builder()
+                .type("SYSTEM")
+                .role("SYSTEM")
+                .floor(floor)
+                .room(room)   // 3,4,6층이면 null
+                .sender("SYSTEM")
+                .msg(msg.getSender() + " 님이 입장했습니다.")
+                .build();
+
+        client.getServer().broadcast(notice, client);
+
+        // 2) 현재 좌석 상태를 이 클라이언트에게만 전송
+        if (floor > 0) {
+            System.out.println("[SEAT_UPDATE-ONE] floor=" + floor + ", room=" + room);
+            client.sendMessage(seatUpdatePublisher.snapshot(floor, room));
+        }
+    }
+
+    // users 에 없는 sender(센서 등)나 DB 오류면 null → 서비스들이 예전처럼 직접 조회
+    private UserIdentity findIdentity(String loginId) {
+        try {
+            return identityCache.byLoginId(loginId).orElse(null);
+        } catch (Exception e) {
+            System.out.println("[WARN] JOIN 사용자 조회 실패: " + loginId + " (" + e.getMessage() + ")");
+            return null;
+        }
+    }
+}
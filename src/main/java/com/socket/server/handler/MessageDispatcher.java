@@ -0,0 +1,118 @@
+package com.socket.server.handler;
+// MessageType → MessageHandler 디스패치 테이블
+
+import com.socket.server.ClientHandler;
+import com.socket.server.MessageType;
+import com.socket.server.SeatPartitions;
+import com.socket.server.SocketMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 등록된 MessageHandler 빈들을 type 별 EnumMap 으로 묶어 두고,
+ * 메시지가 오면 한 번에 찾아서 기본값 채우기 → (INLINE / OFFLOAD) 실행 → 시간 기록까지 맡는다.
+ * 같은 type 을 두 핸들러가 맡으면 시작할 때 실패시킨다.
+ */
+@Slf4j
+@Component
+public class MessageDispatcher {
+
+    private final Map<MessageType, MessageHandler> handlers = new EnumMap<>(MessageType.class);
+    private final Map<MessageType, HandlerMetrics> metrics = new EnumMap<>(MessageType.class);
+
+    // OFFLOAD 핸들러용 공유 풀 (연결별 순서는 SerialExecutor 가 보장)
+    private final ExecutorService offloadPool;
+    // ROOM 핸들러용 방별 단일 스레드
+    private final SeatPartitions seatPartitions;
+
+    public MessageDispatcher(List<MessageHandler> handlerBeans,
+                             SeatPartitions seatPartitions,
+                             @Value("${chat.server.execution:platform}") String execution,
+                             @Value("${chat.server.dispatch.offload-threads:8}") int offloadThreads) {
+        this.seatPartitions = seatPartitions;
+        for (MessageHandler handler : handlerBeans) {
+            for (MessageType type : handler.types()) {
+                MessageHandler prev = handlers.put(type, handler);
+                if (prev != null) {
+                    throw new IllegalStateException("type " + type + " 핸들러 중복: "
+                            + prev.getClass().getSimpleName() + ", " + handler.getClass().getSimpleName());
+                }
+                metrics.put(type, new HandlerMetrics(type, handler.execution()));
+            }
+        }
+
+        if ("virtual".equalsIgnoreCase(execution)) {
+            this.offloadPool = Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("dispatch-vt-", 0).factory());
+        } else {
+            AtomicInteger seq = new AtomicInteger();
+            this.offloadPool = Executors.newFixedThreadPool(offloadThreads, r -> {
+                Thread t = new Thread(r, "dispatch-" + seq.getAndIncrement());
+                t.setDaemon(true);
+                return t;
+            });
+        }
+
+        log.info("[DISPATCH] 핸들러 {}개 등록: {}", handlers.size(), handlers.keySet());
+    }
+
+    // 연결마다 1개: 이 연결의 OFFLOAD 작업을 순서대로 실행
+    public Executor newClientExecutor() {
+        return new SerialExecutor(offloadPool);
+    }
+
+    /**
+     * @return 이 type 을 맡는 핸들러가 있으면 true (없으면 호출한 쪽에서 "처리되지 않은 type" 으로 기록)
+     */
+    public boolean dispatch(ClientHandler client, MessageType type, SocketMessage msg) {
+        MessageHandler handler = type != null ? handlers.get(type) : null;
+        if (handler == null) return false;
+
+        client.applyDefaults(msg, handler.defaults());
+
+        HandlerMetrics m = metrics.get(type);
+        long queuedAt = System.nanoTime();
+        switch (handler.execution()) {
+            case OFFLOAD -> client.getOffloadExecutor().execute(() -> run(handler, m, client, msg, queuedAt));
+            // 기본값을 채운 뒤라 floor / room 은 보낸 시점의 방 (좌석이 없는 방이면 OFFLOAD 와 같은 경로)
+            case ROOM -> seatPartitions.executor(msg.getFloor(), msg.getRoom(), client.getOffloadExecutor())
+                    .execute(() -> run(handler, m, client, msg, queuedAt));
+            default -> run(handler, m, client, msg, queuedAt);
+        }
+        return true;
+    }
+
+    private void run(MessageHandler handler, HandlerMetrics m, ClientHandler client,
+                     SocketMessage msg, long queuedAt) {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            handler.handle(client, msg);
+            success = true;
+        } catch (Exception ex) {
+            // 연결은 유지하면서 로그만 남기기
+            log.error("[DISPATCH] {} 처리 중 예외 발생 ({}): {}", msg.getType(), client, ex.getMessage(), ex);
+        } finally {
+            m.record(start - queuedAt, System.nanoTime() - start, success);
+        }
+    }
+
+    // 처리 건수 많은 순
+    public List<HandlerMetrics.Stats> getStats() {
+        return metrics.values().stream()
+                .map(HandlerMetrics::snapshot)
+                .filter(s -> s.handled() > 0)
+                .sorted(Comparator.comparingLong(HandlerMetrics.Stats::handled).reversed())
+                .toList();
+    }
+}
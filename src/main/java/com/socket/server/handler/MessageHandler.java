@@ -0,0 +1,40 @@
+package com.socket.server.handler;
+// type 별 메시지 처리기 (Spring 빈으로 등록하면 MessageDispatcher 가 자동으로 모음)
+
+import com.socket.server.ClientHandler;
+import com.socket.server.MessageType;
+import com.socket.server.SocketMessage;
+
+import java.util.Set;
+
+/**
+ * 새 type 을 추가할 때는 MessageType 에 값을 넣고, 이 인터페이스를 구현한 @Component 를 하나 만들면 된다.
+ * - execution : INLINE  = 읽은 스레드에서 바로 (채팅처럼 빨리 끝나는 것)
+ *               OFFLOAD = 디스패치 풀에서 (좌석 명령처럼 DB 를 오래 쓰는 것, 연결별 순서는 유지)
+ *               ROOM    = 메시지의 (floor, room) 전용 스레드에서 (SeatPartitions, chat.server.seat.executor=room 일 때 좌석 핸들러)
+ * - defaults  : 메시지에 빠진 floor/room/sender... 를 이 클라이언트의 JOIN 정보로 채울 범위
+ *               (읽은 스레드에서 채우므로 OFFLOAD 중에 방을 옮겨도 보낸 시점 기준으로 처리됨)
+ */
+public interface MessageHandler {
+
+    enum Execution { INLINE, OFFLOAD, ROOM }
+
+    enum Defaults {
+        NONE,
+        ROOM,    // floor, room
+        SENDER,  // floor, room, sender, role   (CHAT / ADMIN_CHAT / SENSOR_DATA)
+        SEAT     // floor, room, userId         (CHECKIN / AWAY_* / CHECKOUT)
+    }
+
+    Set<MessageType> types();
+
+    void handle(ClientHandler client, SocketMessage msg);
+
+    default Execution execution() {
+        return Execution.INLINE;
+    }
+
+    default Defaults defaults() {
+        return Defaults.NONE;
+    }
+}
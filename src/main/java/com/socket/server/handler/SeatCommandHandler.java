@@ -0,0 +1,103 @@
+package com.socket.server.handler;
+
+import com.dto.SeatInfoDto;
+import com.service.CheckinService;
+import com.service.UserIdentity;
+import com.service.UserIdentityCache;
+import com.socket.server.ClientHandler;
+import com.socket.server.MessageType;
+import com.socket.server.SeatPartitions;
+import com.socket.server.SocketMessage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * CHECKIN / AWAY_START / AWAY_BACK / CHECKOUT
+ * 1. CheckinService 호출 (DB 트랜잭션) → OFFLOAD 로 디스패치 풀에서 실행 (chat.server.seat.executor=room 이면 방 전용 스레드)
+ * 2. 같은 room 사용자들에게 바뀐 좌석만 SEAT_DELTA 로 브로드캐스트 (방 전체 재조회 없음, room 모드면 tick 단위로 묶어서)
+ */
+@Component
+@RequiredArgsConstructor
+public class SeatCommandHandler implements MessageHandler {
+
+    private final CheckinService checkinService;
+    private final UserIdentityCache identityCache;
+    private final SeatPartitions seatPartitions;
+
+    @Override
+    public Set<MessageType> types() {
+        return EnumSet.of(MessageType.CHECKIN, MessageType.AWAY_START,
+                MessageType.AWAY_BACK, MessageType.CHECKOUT);
+    }
+
+    @Override
+    public Execution execution() {
+        return seatPartitions.isEnabled() ? Execution.ROOM : Execution.OFFLOAD;
+    }
+
+    @Override
+    public Defaults defaults() {
+        return Defaults.SEAT;
+    }
+
+    @Override
+    public void handle(ClientHandler client, SocketMessage msg) {
+
+        int floor = msg.getFloor();
+        String room = msg.getRoom();
+        int seatNo = msg.getSeatNo();
+        String userId = msg.getUserId();
+
+        SeatInfoDto changed;
+        switch (msg.getMessageType()) {
+            case CHECKIN -> {
+                try {
+                    changed = checkinService.checkin(floor, room, seatNo, identityOf(client, userId));
+                } catch (Exception ex) {
+                    System.out.println("[ERROR] CHECKIN 처리 중 예외 발생: " + ex.getMessage());
+                    ex.printStackTrace();
+
+                    SocketMessage err = SocketMessage.builder()
+                            .type("ERROR")
+                            .role("SYSTEM")
+                            .floor(client.getFloor())
+                            .room(client.getRoom())
+                            .sender("SYSTEM")
+                            .msg(ex.getMessage())
+                            .build();
+
+                    client.sendMessage(err);
+                    return;   // 에러 났으면 SEAT_DELTA 보내지 말고 종료
+                }
+            }
+            case AWAY_START -> changed = checkinService.startAway(floor, room, seatNo, userId);
+            case AWAY_BACK -> changed = checkinService.backFromAway(floor, room, seatNo, userId);
+            case CHECKOUT -> changed = checkinService.checkout(floor, room, seatNo, userId);
+            default -> throw new IllegalArgumentException("좌석 명령이 아님: " + msg.getType());
+        }
+
+        // 커밋된 뒤라 여기서 방 version 을 올려 같은 room의 모든 클라이언트에게 브로드캐스트
+        System.out.println("[SEAT_DELTA] floor=" + floor + ", room=" + room
+                + ", seatNo=" + changed.getSeatNo() + ", state=" + changed.getStatus());
+
+        seatPartitions.publishDelta(floor, room, changed);
+    }
+
+    /**
+     * CHECKIN 할 사용자
+     * - 보통은 JOIN 때 붙여 둔 세션 identity 그대로
+     * - 다른 userId 로 요청하거나 JOIN 때 못 찾은 경우에만 캐시(없으면 DB)에서 조회
+     */
+    private UserIdentity identityOf(ClientHandler client, String userId) {
+        long id = Long.parseLong(userId);
+
+        UserIdentity session = client.getIdentity();
+        if (session != null && session.id() == id) return session;
+
+        return identityCache.byId(id)
+                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
+    }
+}
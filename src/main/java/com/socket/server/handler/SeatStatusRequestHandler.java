@@ -0,0 +1,47 @@
+package com.socket.server.handler;
+
+import com.socket.server.ClientHandler;
+import com.socket.server.MessageType;
+import com.socket.server.SeatPartitions;
+import com.socket.server.SocketMessage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+// SEAT_STATUS_REQUEST : 현재 좌석 상태(+ version)를 요청한 클라이언트에게만 전송 (DB 조회라 OFFLOAD)
+// SEAT_DELTA 의 version 이 건너뛴 클라이언트가 전체를 다시 받을 때도 사용
+// chat.server.seat.executor=room 이면 방 전용 스레드에서, 같은 tick 의 요청끼리 스냅샷 1개를 같이 씀
+@Component
+@RequiredArgsConstructor
+public class SeatStatusRequestHandler implements MessageHandler {
+
+    private final SeatPartitions seatPartitions;
+
+    @Override
+    public Set<MessageType> types() {
+        return EnumSet.of(MessageType.SEAT_STATUS_REQUEST);
+    }
+
+    @Override
+    public Execution execution() {
+        return seatPartitions.isEnabled() ? Execution.ROOM : Execution.OFFLOAD;
+    }
+
+    @Override
+    public Defaults defaults() {
+        return Defaults.ROOM;
+    }
+
+    @Override
+    public void handle(ClientHandler client, SocketMessage msg) {
+
+        int floor = msg.getFloor();
+        String room = msg.getRoom();
+
+        System.out.println("[SEAT_STATUS_REQUEST] floor=" + floor + ", room=" + room);
+
+        client.sendMessage(seatPartitions.snapshot(floor, room));
+    }
+}
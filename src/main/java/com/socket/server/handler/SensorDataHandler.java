@@ -0,0 +1,52 @@
+package com.socket.server.handler;
+
+import com.service.SensorDataService;
+import com.socket.server.ClientHandler;
+import com.socket.server.DashboardCoalescer;
+import com.socket.server.MessageType;
+import com.socket.server.SocketMessage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * SENSOR_DATA : 적재 대기열 추가 + 캐시 갱신 후 같은 room 의 DASHBOARD_UPDATE 갱신 (DashboardCoalescer)
+ * DB INSERT 는 SensorIngestService 가 모아서 하므로 읽는 스레드에서 바로 처리 (INLINE)
+ */
+@Component
+@RequiredArgsConstructor
+public class SensorDataHandler implements MessageHandler {
+
+    private final SensorDataService sensorDataService;
+    private final DashboardCoalescer dashboardCoalescer;
+
+    @Override
+    public Set<MessageType> types() {
+        return EnumSet.of(MessageType.SENSOR_DATA);
+    }
+
+    @Override
+    public Defaults defaults() {
+        return Defaults.SENDER;
+    }
+
+    @Override
+    public void handle(ClientHandler client, SocketMessage msg) {
+
+        System.out.println("[SERVER] SENSOR_DATA 수신:"
+                + " floor=" + msg.getFloor()
+                + ", room=" + msg.getRoom()
+                + ", sender=" + msg.getSender()
+                + ", temp=" + msg.getTemp()
+                + ", co2=" + msg.getCo2()
+                + ", lux=" + msg.getLux());
+
+        // 1) 센서 데이터 DB/캐시 처리
+        SensorDataService.SensorSnapshot snapshot = sensorDataService.handleSensorData(msg);
+
+        // 2) DASHBOARD_UPDATE 는 방별로 모아서 최대 빈도 / 변화량 기준으로 브로드캐스트
+        dashboardCoalescer.offer(msg.getFloor(), msg.getRoom(), snapshot);
+    }
+}
@@ -0,0 +1,102 @@
+package com.socket.server.nio;
+// Selector 기반 논블로킹 서버 엔진 (chat.server.engine=nio)
+
+import com.socket.server.ChatServer;
+import com.socket.server.ClientHandler;
+import com.socket.server.OutboundQueue;
+import com.socket.server.WriteBatching;
+import com.socket.server.WriteMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 연결마다 스레드를 만들지 않고,
+ * - 이벤트 루프 N개가 모든 소켓의 읽기/쓰기를 나눠 맡고
+ * - worker 풀이 메시지 처리(ClientHandler.handleLine)를 실행한다.
+ * 메시지 의미(JOIN, CHAT, CHECKIN, SENSOR_DATA ...)는 클래식 엔진과 동일하게 ClientHandler 가 처리.
+ */
+@Slf4j
+public class NioChatEngine {
+
+    private final ChatServer server;
+    private final int port;
+    private final NioEventLoop[] loops;
+    private final ExecutorService workers;
+    private final OutboundQueue.Config queueConfig;
+    private final WriteBatching batching;
+    private final WriteMetrics metrics;
+    private int nextLoop;
+
+    public NioChatEngine(ChatServer server, int port, int eventLoopThreads, int workerThreads,
+                         boolean virtualWorkers, OutboundQueue.Config queueConfig,
+                         WriteBatching batching, WriteMetrics metrics) throws IOException {
+        this.server = server;
+        this.port = port;
+        this.queueConfig = queueConfig;
+        this.batching = batching;
+        this.metrics = metrics;
+
+        this.loops = new NioEventLoop[eventLoopThreads];
+        for (int i = 0; i < eventLoopThreads; i++) {
+            loops[i] = new NioEventLoop("nio-event-loop-" + i);
+        }
+
+        if (virtualWorkers) {
+            // 메시지 처리 중 JPA 호출로 블로킹돼도 worker 수 제한에 걸리지 않도록 작업마다 virtual thread
+            this.workers = Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("nio-worker-vt-", 0).factory());
+        } else {
+            AtomicInteger seq = new AtomicInteger();
+            this.workers = Executors.newFixedThreadPool(workerThreads, r -> {
+                Thread t = new Thread(r, "nio-worker-" + seq.getAndIncrement());
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+
+    public void start() {
+        log.info("[SERVER] NIO 엔진 시작, 포트: {} (이벤트 루프 {}개)", port, loops.length);
+
+        for (NioEventLoop loop : loops) {
+            loop.start();
+        }
+
+        try (ServerSocketChannel serverChannel = ServerSocketChannel.open()) {
+            serverChannel.bind(new InetSocketAddress(port));
+
+            while (true) {
+                // accept 는 이 스레드에서 블로킹으로 받고, 읽기/쓰기만 이벤트 루프에 넘긴다
+                SocketChannel channel = serverChannel.accept();
+
+                NioEventLoop loop = loops[nextLoop];
+                nextLoop = (nextLoop + 1) % loops.length;
+
+                NioConnection conn = new NioConnection(channel, loop, workers, queueConfig,
+                        batching, metrics);
+                log.info("[SERVER] 새 클라이언트 접속(NIO): {}", conn.remoteAddress());
+
+                ClientHandler handler = server.createHandler(conn);
+                conn.bind(handler);
+                server.addClient(handler);
+
+                loop.register(conn);
+            }
+
+        } catch (IOException e) {
+            log.error("[SERVER] NIO 서버 오류: {}", e.getMessage(), e);
+        } finally {
+            for (NioEventLoop loop : loops) {
+                loop.shutdown();
+            }
+            workers.shutdown();
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.socket.server.nio;
+// NIO 엔진의 연결 1개 (읽기 버퍼 + 쓰기 큐 + ClientHandler 연결)
+
+import com.socket.server.ClientHandler;
+import com.socket.server.ClientTransport;
+import com.socket.server.FrameDecoder;
+import com.socket.server.OutboundFrame;
+import com.socket.server.OutboundQueue;
+import com.socket.server.WireFormat;
+import com.socket.server.WriteBatching;
+import com.socket.server.WriteMetrics;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * - 읽기: 이벤트 루프 스레드가 읽어서 프레임(JSON 줄 / 바이너리) 단위로 잘라 inbox 에 넣는다.
+ *   메시지 처리(DB 호출 포함)는 worker 풀에서 연결별로 순서대로 실행
+ *   → 이벤트 루프가 JPA 호출 때문에 멈추지 않음
+ * - 쓰기: 어느 스레드에서든 send() 하면 연결별 대기열(OutboundQueue)에 쌓고,
+ *   이벤트 루프가 비울 수 있는 만큼 쓴 뒤 남으면 OP_WRITE 로 이어서 쓴다.
+ *   대기열이 가득 찼을 때의 버림/병합 정책은 OutboundQueue 가 처리
+ *   묶음 모드면 linger 동안 모인 프레임을 gathering write 1번으로 보냄
+ */
+public class NioConnection implements ClientTransport {
+
+    private static final int READ_BUFFER_SIZE = 8 * 1024;
+    private static final int MAX_FRAME_BYTES = 1024 * 1024;
+
+    private final SocketChannel channel;
+    private final NioEventLoop loop;
+    private final Executor workers;
+    private final String remoteAddress;
+
+    // 이벤트 루프 스레드 전용
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+    private final FrameDecoder decoder = new FrameDecoder(MAX_FRAME_BYTES);
+    private SelectionKey key;
+    private final ArrayDeque<ByteBuffer> pendingWrites = new ArrayDeque<>();  // 쓰는 중인 프레임들
+
+    // 송신 대기열 (여러 스레드에서 send)
+    private final OutboundQueue outbound;
+    private final WriteBatching batching;
+    private final WriteMetrics metrics;
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private volatile WireFormat format = WireFormat.JSON;
+
+    // 받은 프레임(JSON 줄 String / 바이너리 본문 byte[])을 worker 에서 순서대로 처리하기 위한 큐
+    private final Queue<Object> inbox = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile boolean inputClosed;
+    private final AtomicBoolean disconnectNotified = new AtomicBoolean();
+
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private ClientHandler handler;
+
+    NioConnection(SocketChannel channel, NioEventLoop loop, Executor workers,
+                  OutboundQueue.Config queueConfig, WriteBatching batching, WriteMetrics metrics) {
+        this.channel = channel;
+        this.loop = loop;
+        this.workers = workers;
+        this.outbound = new OutboundQueue(queueConfig);
+        this.batching = batching;
+        this.metrics = metrics;
+        this.remoteAddress = resolveRemoteAddress(channel);
+    }
+
+    void bind(ClientHandler handler) {
+        this.handler = handler;
+    }
+
+    SocketChannel channel() {
+        return channel;
+    }
+
+    void attach(SelectionKey key) {
+        this.key = key;
+    }
+
+    // ─────────────────────── 읽기 ───────────────────────
+
+    void onReadable() throws IOException {
+        int n = channel.read(readBuffer);
+        if (n < 0) {
+            throw new EOFException("클라이언트가 연결을 종료함");
+        }
+
+        readBuffer.flip();
+        decoder.decode(readBuffer, inbox::add, inbox::add);
+        readBuffer.clear();
+
+        if (!inbox.isEmpty()) {
+            scheduleDrain();
+        }
+    }
+
+    // 더 이상 읽을 게 없음 → 남은 줄 처리 후 handler.onDisconnect()
+    private void onInputClosed() {
+        inputClosed = true;
+        scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            workers.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            Object frame;
+            while ((frame = inbox.poll()) != null) {
+                if (frame instanceof byte[] body) {
+                    handler.handleBinary(body);
+                } else {
+                    handler.handleLine((String) frame);
+                }
+            }
+        } finally {
+            draining.set(false);
+
+            if (!inbox.isEmpty()) {
+                scheduleDrain();
+            } else if (inputClosed && disconnectNotified.compareAndSet(false, true)) {
+                handler.onDisconnect();
+            }
+        }
+    }
+
+    // ─────────────────────── 쓰기 ───────────────────────
+
+    @Override
+    public void send(OutboundFrame frame) {
+        if (!outbound.offer(frame)) return;
+
+        if (!batching.enabled()) {
+            if (flushScheduled.compareAndSet(false, true)) {
+                loop.execute(this::flushFromLoop);
+            }
+            return;
+        }
+
+        if (batching.isUrgent(frame)) {
+            // 채팅 등: linger 로 잡혀 있는 flush 를 기다리지 않고 바로
+            loop.execute(this::flushFromLoop);
+        } else if (flushScheduled.compareAndSet(false, true)) {
+            // linger 동안 뒤따라오는 프레임을 모아서 한 번에
+            loop.schedule(this::flushFromLoop, batching.lingerNanos(frame));
+        }
+    }
+
+    @Override
+    public void useFormat(WireFormat format) {
+        this.format = format;
+    }
+
+    private void flushFromLoop() {
+        try {
+            onWritable();
+        } catch (IOException e) {
+            close();
+        }
+    }
+
+    // 이벤트 루프 스레드에서만 호출
+    void onWritable() throws IOException {
+        flushScheduled.set(false);
+        if (key == null || !key.isValid()) return;
+
+        while (true) {
+            // 묶음 모드: 바이트 상한까지 / 기존 모드: 1개씩
+            int frames = 0;
+            long bytes = 0;
+            for (ByteBuffer buf : pendingWrites) bytes += buf.remaining();
+
+            while (batching.enabled() ? bytes < batching.maxBatchBytes() : pendingWrites.isEmpty()) {
+                OutboundFrame frame = outbound.poll();
+                if (frame == null) break;
+                // 같은 바이트를 공유하는 read-only 뷰 → 수신자별 복사 없음
+                pendingWrites.addLast(frame.buffer(format));
+                bytes += frame.length(format);
+                frames++;
+            }
+            if (pendingWrites.isEmpty()) break;
+
+            long written = pendingWrites.size() == 1
+                    ? channel.write(pendingWrites.peekFirst())
+                    : channel.write(pendingWrites.toArray(new ByteBuffer[0]));   // gathering write 1번
+            metrics.record(frames, written);
+
+            while (!pendingWrites.isEmpty() && !pendingWrites.peekFirst().hasRemaining()) {
+                pendingWrites.pollFirst();
+            }
+            if (!pendingWrites.isEmpty()) {
+                // 소켓 송신 버퍼가 가득 참 → 쓸 수 있게 되면 다시 호출됨
+                key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+                return;
+            }
+        }
+
+        key.interestOps(key.interestOps() & ~SelectionKey.OP_WRITE);
+    }
+
+    // ─────────────────────── 종료 ───────────────────────
+
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) return;
+
+        try {
+            channel.close();   // key 도 같이 취소됨
+        } catch (IOException ignore) {}
+
+        outbound.close();
+        onInputClosed();
+    }
+
+    @Override
+    public OutboundQueue outbound() {
+        return outbound;
+    }
+
+    @Override
+    public String remoteAddress() {
+        return remoteAddress;
+    }
+
+    private static String resolveRemoteAddress(SocketChannel channel) {
+        try {
+            return String.valueOf(channel.getRemoteAddress());
+        } catch (IOException e) {
+            return "unknown";
+        }
+    }
+}
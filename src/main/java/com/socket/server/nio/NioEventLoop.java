@@ -0,0 +1,144 @@
+package com.socket.server.nio;
+// Selector 하나를 돌리는 이벤트 루프 스레드
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 여러 연결의 읽기/쓰기 이벤트를 스레드 하나로 처리한다.
+ * - SelectionKey 조작(등록, interestOps 변경)은 전부 이 스레드에서만 수행
+ * - 다른 스레드에서 필요한 작업은 execute() 로 넘기고 selector 를 깨운다
+ * - schedule() 은 지연 작업 (묶음 쓰기 linger 용), select 타임아웃으로 처리
+ */
+@Slf4j
+class NioEventLoop implements Runnable {
+
+    private final Selector selector;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final Thread thread;
+
+    // 지연 작업 (이벤트 루프 스레드 전용)
+    private record Timer(long deadlineNanos, Runnable task) { }
+    private final PriorityQueue<Timer> timers =
+            new PriorityQueue<>(Comparator.comparingLong(Timer::deadlineNanos));
+
+    NioEventLoop(String name) throws IOException {
+        this.selector = Selector.open();
+        this.thread = new Thread(this, name);
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    void shutdown() {
+        thread.interrupt();
+        selector.wakeup();
+    }
+
+    void execute(Runnable task) {
+        tasks.add(task);
+        selector.wakeup();
+    }
+
+    void schedule(Runnable task, long delayNanos) {
+        long deadline = System.nanoTime() + delayNanos;
+        execute(() -> timers.add(new Timer(deadline, task)));
+    }
+
+    // 새 연결을 이 루프의 selector 에 등록 (읽기 관심부터 시작)
+    void register(NioConnection conn) {
+        execute(() -> {
+            try {
+                conn.channel().configureBlocking(false);
+                SelectionKey key = conn.channel().register(selector, SelectionKey.OP_READ, conn);
+                conn.attach(key);
+            } catch (IOException e) {
+                log.warn("[NIO] 채널 등록 실패: {}", e.getMessage());
+                conn.close();
+            }
+        });
+    }
+
+    @Override
+    public void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                long timeoutMillis = nextTimerMillis();
+                if (timeoutMillis < 0) {
+                    selector.selectNow();
+                } else {
+                    selector.select(timeoutMillis);   // 0 = 지연 작업 없음 → 이벤트 올 때까지
+                }
+                runTasks();
+                runTimers();
+
+                Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+                while (it.hasNext()) {
+                    SelectionKey key = it.next();
+                    it.remove();
+
+                    NioConnection conn = (NioConnection) key.attachment();
+                    try {
+                        if (key.isValid() && key.isReadable()) conn.onReadable();
+                        if (key.isValid() && key.isWritable()) conn.onWritable();
+                    } catch (IOException | CancelledKeyException e) {
+                        log.info("[NIO] 연결 종료: {} ({})", conn.remoteAddress(), e.getMessage());
+                        conn.close();
+                    }
+                }
+            } catch (IOException e) {
+                log.error("[NIO] 이벤트 루프 오류: {}", e.getMessage(), e);
+            }
+        }
+
+        try {
+            selector.close();
+        } catch (IOException ignore) {}
+    }
+
+    // 다음 지연 작업까지 남은 ms (없으면 0, 이미 지났으면 -1)
+    private long nextTimerMillis() {
+        Timer next = timers.peek();
+        if (next == null) return 0;
+
+        long remaining = next.deadlineNanos() - System.nanoTime();
+        if (remaining <= 0) return -1;
+        return Math.max(1, TimeUnit.NANOSECONDS.toMillis(remaining));
+    }
+
+    private void runTimers() {
+        long now = System.nanoTime();
+        Timer next;
+        while ((next = timers.peek()) != null && next.deadlineNanos() <= now) {
+            timers.poll();
+            try {
+                next.task().run();
+            } catch (RuntimeException e) {
+                log.error("[NIO] 지연 작업 실패: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                log.error("[NIO] 이벤트 루프 작업 실패: {}", e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com;
+
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+// 자동 퇴실 DB 쓰기 비교 (SeatStateEngine.awaitExpired 의 checkins UPDATE)
+//  - 행마다 : UPDATE ... WHERE id = ? 를 세션 수만큼 (예전 방식: 엔티티 checkout() + dirty checking 도 행마다 UPDATE 1번)
+//  - 묶음   : UPDATE ... WHERE id IN (...) AND checkout_time IS NULL 을 batch 개씩
+//  1) 서버는 안 띄워도 됨 (DB 만 있으면 됨, users / seats 에 행이 1개 이상 있어야 함)
+//  2) 방식마다 퇴실 안 한 checkins 를 세션 수만큼 넣고 → UPDATE 시간만 재고 → ROLLBACK (DB 에 남지 않음)
+// 인자: [세션 수=10000] [묶음 크기=1000] [반복=5]
+// DB 접속 정보는 application.properties 의 spring.datasource.* 사용
+public class AutoCheckoutBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int batchSize = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        Properties props = new Properties();
+        try (InputStream in = AutoCheckoutBenchmark.class.getResourceAsStream("/application.properties")) {
+            props.load(in);
+        }
+
+        try (Connection db = DriverManager.getConnection(
+                props.getProperty("spring.datasource.url"),
+                props.getProperty("spring.datasource.username"),
+                props.getProperty("spring.datasource.password"))) {
+
+            long userId = firstId(db, "users");
+            long seatId = firstId(db, "seats");
+            if (userId < 0 || seatId < 0) {
+                System.out.println("[AUTO-CHECKOUT] users / seats 에 행이 없어서 측정할 수 없습니다.");
+                return;
+            }
+            db.setAutoCommit(false);
+
+            System.out.printf("[AUTO-CHECKOUT] 세션 %d개, 묶음 %d개, %d회 반복 (1회는 예열)%n", sessions, batchSize, rounds);
+            for (int round = 0; round <= rounds; round++) {
+                long perRow = measure(db, userId, seatId, sessions, 1);
+                long bulk = measure(db, userId, seatId, sessions, batchSize);
+
+                if (round == 0) continue;
+                System.out.printf("[AUTO-CHECKOUT] %d회  행마다 %6dms (UPDATE %d번)  묶음 %6dms (UPDATE %d번)  %.1f배%n",
+                        round, perRow, sessions, bulk, (sessions + batchSize - 1) / batchSize,
+                        bulk == 0 ? 0 : perRow / (double) bulk);
+            }
+        }
+    }
+
+    // 세션을 넣고 UPDATE 에 걸린 시간(ms)만 반환, 끝나면 ROLLBACK
+    private static long measure(Connection db, long userId, long seatId, int sessions, int batchSize) throws Exception {
+        List<Long> ids = insertSessions(db, userId, seatId, sessions);
+        Collections.shuffle(ids);   // 만료 순서는 id 순서와 다름
+        Timestamp at = Timestamp.valueOf(LocalDateTime.now());
+
+        long started = System.nanoTime();
+        int updated = 0;
+        try {
+            if (batchSize == 1) {
+                try (PreparedStatement ps = db.prepareStatement(
+                        "UPDATE checkins SET checkout_time = ? WHERE id = ? AND checkout_time IS NULL")) {
+                    for (long id : ids) {
+                        ps.setTimestamp(1, at);
+                        ps.setLong(2, id);
+                        updated += ps.executeUpdate();
+                    }
+                }
+            } else {
+                for (int from = 0; from < ids.size(); from += batchSize) {
+                    List<Long> batch = ids.subList(from, Math.min(from + batchSize, ids.size()));
+                    String in = String.join(",", Collections.nCopies(batch.size(), "?"));
+                    try (PreparedStatement ps = db.prepareStatement(
+                            "UPDATE checkins SET checkout_time = ? WHERE id IN (" + in + ") AND checkout_time IS NULL")) {
+                        ps.setTimestamp(1, at);
+                        for (int i = 0; i < batch.size(); i++) {
+                            ps.setLong(i + 2, batch.get(i));
+                        }
+                        updated += ps.executeUpdate();
+                    }
+                }
+            }
+            long elapsed = (System.nanoTime() - started) / 1_000_000;
+
+            if (updated != sessions) {
+                throw new IllegalStateException("퇴실 처리된 행 수가 다릅니다: " + updated + " / " + sessions);
+            }
+            return elapsed;
+        } finally {
+            db.rollback();
+        }
+    }
+
+    private static List<Long> insertSessions(Connection db, long userId, long seatId, int sessions) throws Exception {
+        Timestamp checkinTime = Timestamp.valueOf(LocalDateTime.now().minusHours(4));
+        List<Long> ids = new ArrayList<>(sessions);
+
+        try (PreparedStatement ps = db.prepareStatement(
+                "INSERT INTO checkins (user_id, seat_id, checkin_time, status) VALUES (?, ?, ?, 'IN_USE')",
+                Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < sessions; i++) {
+                ps.setLong(1, userId);
+                ps.setLong(2, seatId);
+                ps.setTimestamp(3, checkinTime);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+
+            try (ResultSet keys = ps.getGeneratedKeys()) {
+                while (keys.next()) ids.add(keys.getLong(1));
+            }
+        }
+        return ids;
+    }
+
+    // 없으면 -1
+    private static long firstId(Connection db, String table) throws Exception {
+        try (Statement st = db.createStatement();
+             ResultSet rs = st.executeQuery("SELECT MIN(id) FROM " + table)) {
+            rs.next();
+            long id = rs.getLong(1);
+            return rs.wasNull() ? -1 : id;
+        }
+    }
+}
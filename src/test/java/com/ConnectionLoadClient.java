@@ -0,0 +1,100 @@
+package com;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+// 대량 접속 부하 테스트 클라이언트 (chat.server.execution=platform / virtual 비교용)
+//  1) 서버를 한 가지 모드로 띄우고 이 클라이언트 실행
+//  2) 같은 인자로 다른 모드에서 다시 실행해서 결과 비교
+//     - 클라이언트 쪽: 접속 소요 시간, CHAT 1건이 전원에게 도착하는 데 걸린 시간(p50/p99/max)
+//     - 서버 쪽: ChatServer.logRuntimeStats() 로그의 플랫폼 스레드 수 / 힙 사용량
+// 인자: [연결 수=2000] [층=3] [라운드=20]
+public class ConnectionLoadClient {
+
+    private static volatile CountDownLatch roundLatch;
+    private static volatile String roundMarker = "";
+
+    public static void main(String[] args) throws Exception {
+        String host = "localhost";
+        int port = 5050;
+        int connections = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int floor = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+
+        List<OutputStream> outs = new ArrayList<>();
+        CountDownLatch joined = new CountDownLatch(connections);
+
+        long connectStart = System.nanoTime();
+        for (int i = 0; i < connections; i++) {
+            Socket socket = new Socket(host, port);
+            OutputStream out = socket.getOutputStream();
+            outs.add(out);
+
+            send(out, "{\"type\":\"JOIN\",\"floor\":" + floor
+                    + ",\"sender\":\"load_" + i + "\",\"role\":\"USER\"}");
+
+            // 수신은 클라이언트 쪽도 virtual thread 로 (연결 수만큼 OS 스레드를 만들지 않도록)
+            Thread.ofVirtual().start(() -> readLoop(socket, joined));
+        }
+        joined.await(60, TimeUnit.SECONDS);
+        long connectMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - connectStart);
+        System.out.printf("[LOAD] %d개 연결 + JOIN 완료: %dms%n", connections, connectMillis);
+
+        // CHAT 1건 → 같은 층 전원 수신까지 걸린 시간 측정
+        long[] fanOutMicros = new long[rounds];
+        for (int r = 0; r < rounds; r++) {
+            roundMarker = "load-round-" + r;
+            roundLatch = new CountDownLatch(connections);
+
+            long start = System.nanoTime();
+            send(outs.get(0), "{\"type\":\"CHAT\",\"msg\":\"" + roundMarker + "\"}");
+
+            if (!roundLatch.await(30, TimeUnit.SECONDS)) {
+                System.out.printf("[LOAD] 라운드 %d 타임아웃 (미수신 %d명)%n", r, roundLatch.getCount());
+            }
+            fanOutMicros[r] = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+            Thread.sleep(200);
+        }
+
+        Arrays.sort(fanOutMicros);
+        System.out.printf("[LOAD] 브로드캐스트 %d명 도착 시간: p50=%dus, p99=%dus, max=%dus%n",
+                connections,
+                fanOutMicros[rounds / 2],
+                fanOutMicros[Math.min(rounds - 1, (int) (rounds * 0.99))],
+                fanOutMicros[rounds - 1]);
+
+        System.exit(0);
+    }
+
+    private static void readLoop(Socket socket, CountDownLatch joined) {
+        boolean seenJoin = false;
+        try (BufferedReader in = new BufferedReader(
+                new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (!seenJoin) {
+                    // JOIN 후 처음 받는 응답(SYSTEM 또는 SEAT_UPDATE)을 접속 완료로 간주
+                    seenJoin = true;
+                    joined.countDown();
+                }
+                CountDownLatch latch = roundLatch;
+                if (latch != null && line.contains(roundMarker)) {
+                    latch.countDown();
+                }
+            }
+        } catch (Exception ignore) {}
+    }
+
+    private static void send(OutputStream out, String json) throws Exception {
+        out.write((json + "\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+}
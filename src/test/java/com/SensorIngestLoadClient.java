@@ -0,0 +1,144 @@
+package com;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// 센서 적재 처리량 측정 클라이언트 (SensorIngestService batch-size / flush-ms 비교용)
+//  1) 서버를 띄우고 이 클라이언트 실행
+//  2) 센서 연결마다 SENSOR_DATA 를 정해진 속도로 보내면서, 1초마다 sensor_data 행 수를 직접 세어
+//     MySQL 에 실제로 저장된 초당 측정값(= 행 / 3)을 출력
+//  3) 마지막에 보낸 양 / 저장된 양 / 지속 처리량 요약
+// 인자: [센서 연결 수=30] [센서당 초당 전송=5 (0이면 최대 속도)] [측정 시간(초)=60]
+// DB 접속 정보는 application.properties 의 spring.datasource.* 사용
+public class SensorIngestLoadClient {
+
+    private static final LongAdder sent = new LongAdder();
+    private static volatile boolean running = true;
+
+    public static void main(String[] args) throws Exception {
+        String host = "localhost";
+        int port = 5050;
+        int sensors = args.length > 0 ? Integer.parseInt(args[0]) : 30;
+        int ratePerSensor = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 60;
+
+        Properties props = new Properties();
+        try (InputStream in = SensorIngestLoadClient.class.getResourceAsStream("/application.properties")) {
+            props.load(in);
+        }
+
+        try (Connection db = DriverManager.getConnection(
+                props.getProperty("spring.datasource.url"),
+                props.getProperty("spring.datasource.username"),
+                props.getProperty("spring.datasource.password"))) {
+
+            long startRows = countRows(db);
+
+            // 센서 연결 + JOIN (1~6층, 1/2/5층은 A/B 번갈아)
+            List<Thread> senders = new ArrayList<>();
+            for (int i = 0; i < sensors; i++) {
+                int floor = i % 6 + 1;
+                String room = (floor == 1 || floor == 2 || floor == 5) ? (i % 12 < 6 ? "A" : "B") : null;
+                Socket socket = new Socket(host, port);
+                OutputStream out = socket.getOutputStream();
+
+                send(out, "{\"type\":\"JOIN\",\"floor\":" + floor
+                        + (room != null ? ",\"room\":\"" + room + "\"" : "")
+                        + ",\"sender\":\"load_sensor_" + i + "\",\"role\":\"SENSOR\"}");
+
+                // 서버가 보내는 DASHBOARD_UPDATE 는 읽어서 버림 (안 읽으면 서버 송신 대기열이 참)
+                Thread.ofVirtual().start(() -> drain(socket));
+                senders.add(Thread.ofVirtual().start(() -> sendLoop(out, ratePerSensor)));
+            }
+            System.out.printf("[INGEST] 센서 %d개 연결, 센서당 초당 %s건, %d초 측정%n",
+                    sensors, ratePerSensor == 0 ? "최대" : String.valueOf(ratePerSensor), seconds);
+
+            // 1초마다 DB 에 실제로 들어간 행 수
+            long prevRows = startRows;
+            long prevSent = 0;
+            double peak = 0;
+            for (int s = 1; s <= seconds; s++) {
+                Thread.sleep(1000);
+                long rows = countRows(db);
+                long sentNow = sent.sum();
+
+                double stored = (rows - prevRows) / 3.0;
+                peak = Math.max(peak, stored);
+                System.out.printf("[INGEST] %3ds 전송 %6d/s, 저장 %8.1f/s, 밀린 양 %d건%n",
+                        s, sentNow - prevSent, stored, sentNow - (rows - startRows) / 3);
+
+                prevRows = rows;
+                prevSent = sentNow;
+            }
+
+            running = false;
+            for (Thread t : senders) t.join();
+
+            // 남은 batch 가 flush 될 시간
+            Thread.sleep(2000);
+            long storedTotal = (countRows(db) - startRows) / 3;
+
+            System.out.printf("[INGEST] 전송 %d건, 저장 %d건 (%.1f%%), 지속 처리량 %.1f건/s, 최대 %.1f건/s%n",
+                    sent.sum(), storedTotal, sent.sum() == 0 ? 0 : storedTotal * 100.0 / sent.sum(),
+                    storedTotal / (double) seconds, peak);
+        }
+        System.exit(0);
+    }
+
+    private static void sendLoop(OutputStream out, int ratePerSensor) {
+        long intervalNanos = ratePerSensor == 0 ? 0 : TimeUnit.SECONDS.toNanos(1) / ratePerSensor;
+        long next = System.nanoTime();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        try {
+            while (running) {
+                send(out, String.format(Locale.ROOT, "{\"type\":\"SENSOR_DATA\",\"temp\":%.2f,\"co2\":%.1f,\"lux\":%.1f}",
+                        20 + random.nextDouble() * 6, 400 + random.nextDouble() * 800, 100 + random.nextDouble() * 500));
+                sent.increment();
+
+                if (intervalNanos > 0) {
+                    next += intervalNanos;
+                    long sleep = next - System.nanoTime();
+                    if (sleep > 0) TimeUnit.NANOSECONDS.sleep(sleep);
+                }
+            }
+        } catch (Exception e) {
+            System.out.println("[INGEST] 전송 중단: " + e.getMessage());
+        }
+    }
+
+    private static long countRows(Connection db) throws Exception {
+        try (Statement st = db.createStatement();
+             ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM sensor_data")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static void drain(Socket socket) {
+        byte[] buf = new byte[8192];
+        try (InputStream in = socket.getInputStream()) {
+            while (in.read(buf) >= 0) {
+                // 버림
+            }
+        } catch (Exception ignore) {}
+    }
+
+    private static void send(OutputStream out, String json) throws Exception {
+        out.write((json + "\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+}
@@ -0,0 +1,350 @@
+package com.service;
+
+import com.dto.SeatInfoDto;
+import com.dto.SeatStatusRow;
+import com.entity.Checkin;
+import com.entity.Seat;
+import com.entity.User;
+import com.exception.AlreadyCheckedInException;
+import com.repository.CheckinRepository;
+import com.repository.SeatRepository;
+import com.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 좌석 잠금(SeatLocks) 스트레스 테스트: 동시에 몰려도 한 좌석에 두 명 / 한 사람이 두 좌석이 되지 않는지
+// DB 는 메모리 가짜(FakeCheckins): 좌석마다 퇴실 안 한 checkins 수를 세고, 2 이상이 된 적이 있으면 이중 예약
+class SeatStateEngineConcurrencyTests {
+
+    private static final int FLOOR = 1;
+    private static final String ROOM = "A";
+    private static final int SEATS = 60;
+
+    private final FakeCheckins db = new FakeCheckins();
+    private final List<Seat> seats = new ArrayList<>();
+    private ExecutorService pool;
+    private SeatStateEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        List<SeatStatusRow> rows = new ArrayList<>();
+        for (long id = 1; id <= SEATS; id++) {
+            seats.add(Seat.builder().id(id).floor(FLOOR).room(User.RoomType.A).seatNumber(String.valueOf(id)).build());
+            rows.add(new SeatStatusRow(id, FLOOR, User.RoomType.A, String.valueOf(id), null, null, null, null, null));
+        }
+
+        engine = new SeatStateEngine(db.checkinRepository(), seatRepository(rows), userRepository(), transactionTemplate());
+        engine.load();
+        pool = Executors.newFixedThreadPool(64);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    // ─────────────────────── 테스트 ───────────────────────
+
+    @Test
+    void sameSeatCheckinHasOneWinner() throws Exception {
+        int contenders = 32;
+        AtomicInteger[] wins = new AtomicInteger[SEATS];
+        for (int i = 0; i < SEATS; i++) wins[i] = new AtomicInteger();
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int s = 0; s < SEATS; s++) {
+            for (int c = 0; c < contenders; c++) {
+                int seatIndex = s;
+                long userId = (long) s * contenders + c + 1;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        engine.checkin(seats.get(seatIndex), userId);
+                        wins[seatIndex].incrementAndGet();
+                    } catch (IllegalStateException expected) {
+                        // 이미 사용중인 좌석
+                    }
+                    return null;
+                }));
+            }
+        }
+        start.countDown();
+        awaitAll(futures);
+
+        for (int s = 0; s < SEATS; s++) {
+            assertEquals(1, wins[s].get(), "seat " + (s + 1));
+        }
+        assertEquals(1, db.maxOpenPerSeat());
+        assertEquals(SEATS, engine.seatStatuses(FLOOR, ROOM).size());
+    }
+
+    @Test
+    void sameUserCheckinHasOneSeat() throws Exception {
+        int users = 200;
+        int attemptsPerUser = 16;
+        AtomicInteger[] wins = new AtomicInteger[users];
+        for (int i = 0; i < users; i++) wins[i] = new AtomicInteger();
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int u = 0; u < users; u++) {
+            for (int a = 0; a < attemptsPerUser; a++) {
+                int userIndex = u;
+                Seat seat = seats.get(ThreadLocalRandom.current().nextInt(SEATS));
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        engine.checkin(seat, userIndex + 1);
+                        wins[userIndex].incrementAndGet();
+                    } catch (AlreadyCheckedInException | IllegalStateException expected) {
+                        // 이미 다른 좌석 / 이미 사용중인 좌석
+                    }
+                    return null;
+                }));
+            }
+        }
+        start.countDown();
+        awaitAll(futures);
+
+        for (int u = 0; u < users; u++) {
+            assertTrue(wins[u].get() <= 1, "user " + (u + 1) + " : " + wins[u].get());
+        }
+        assertEquals(1, db.maxOpenPerSeat());
+        assertNoDoubleBooking();
+    }
+
+    @Test
+    void mixedCommandsNeverDoubleBook() throws Exception {
+        int threads = 64;
+        int opsPerThread = 2000;
+        int users = 90;   // 좌석보다 많게 → 빈 좌석 / 같은 사용자 경쟁이 계속 일어남
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < opsPerThread; i++) {
+                    Seat seat = seats.get(random.nextInt(SEATS));
+                    long userId = random.nextInt(users) + 1;
+                    try {
+                        switch (random.nextInt(4)) {
+                            case 0 -> engine.checkin(seat, userId);
+                            case 1 -> engine.startAway(seat, userId);
+                            case 2 -> engine.backFromAway(seat, userId);
+                            default -> engine.checkout(seat, userId);
+                        }
+                    } catch (AlreadyCheckedInException | IllegalStateException expected) {
+                        // 규칙에 맞지 않는 명령은 거절되는 것이 정상
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        awaitAll(futures);
+
+        assertEquals(1, db.maxOpenPerSeat());
+        List<SeatInfoDto> occupied = assertNoDoubleBooking();
+        assertEquals(db.openTotal(), occupied.size());   // 메모리와 DB 가 같은 좌석 수
+    }
+
+    @Test
+    void differentSeatsInSameRoomRunInParallel() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        db.blockSeat(1L, entered, release);
+
+        // 1번 좌석 체크인은 DB 쓰기 중에 멈춰 있음
+        Future<SeatInfoDto> slow = pool.submit(() -> engine.checkin(seats.get(0), 1L));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        // 같은 방의 다른 좌석은 기다리지 않고 끝남
+        SeatInfoDto other = pool.submit(() -> engine.checkin(seats.get(1), 2L)).get(5, TimeUnit.SECONDS);
+        assertEquals(Checkin.SeatStatus.IN_USE, other.getStatus());
+
+        // 같은 좌석은 앞 명령이 끝날 때까지 대기 → 끝난 뒤 "이미 사용중"
+        Future<SeatInfoDto> sameSeat = pool.submit(() -> engine.checkin(seats.get(0), 3L));
+        Thread.sleep(100);
+        assertFalse(sameSeat.isDone());
+
+        release.countDown();
+        assertEquals(Checkin.SeatStatus.IN_USE, slow.get(5, TimeUnit.SECONDS).getStatus());
+        Exception e = assertThrows(Exception.class, () -> sameSeat.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+    }
+
+    // ─────────────────────── 확인 ───────────────────────
+
+    // 좌석마다 사용자 1명, 사용자마다 좌석 1개
+    // 스냅샷은 빈 좌석까지 좌석마다 1개, 사용 중 / 외출 좌석의 사용자는 서로 다름
+    private List<SeatInfoDto> assertNoDoubleBooking() {
+        List<SeatInfoDto> snapshot = engine.seatStatuses(FLOOR, ROOM);
+        assertEquals(SEATS, snapshot.size());
+
+        List<SeatInfoDto> occupied = new ArrayList<>();
+        Set<Long> seatIds = new HashSet<>();
+        Set<Long> userIds = new HashSet<>();
+        for (SeatInfoDto dto : snapshot) {
+            assertTrue(seatIds.add(dto.getSeatId()), "seat " + dto.getSeatId());
+            if (dto.getStatus() == Checkin.SeatStatus.EMPTY) {
+                assertNull(dto.getUserId());
+                continue;
+            }
+            assertTrue(userIds.add(dto.getUserId()), "user " + dto.getUserId());
+            occupied.add(dto);
+        }
+        return occupied;
+    }
+
+    private static void awaitAll(List<Future<?>> futures) throws Exception {
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+    }
+
+    // ─────────────────────── 가짜 DB ───────────────────────
+
+    private static SeatRepository seatRepository(List<SeatStatusRow> rows) {
+        return proxy(SeatRepository.class, (name, args) -> switch (name) {
+            case "findAllSeatStatusRows" -> rows;
+            case "getReferenceById" -> Seat.builder().id((Long) args[0]).build();
+            default -> throw new UnsupportedOperationException(name);
+        });
+    }
+
+    private static UserRepository userRepository() {
+        return proxy(UserRepository.class, (name, args) -> switch (name) {
+            case "getReferenceById" -> User.builder().id((Long) args[0]).build();
+            default -> throw new UnsupportedOperationException(name);
+        });
+    }
+
+    // 트랜잭션 없이 콜백만 실행
+    private static TransactionTemplate transactionTemplate() {
+        return new TransactionTemplate(new PlatformTransactionManager() {
+            @Override
+            public TransactionStatus getTransaction(TransactionDefinition definition) {
+                return new SimpleTransactionStatus();
+            }
+
+            @Override
+            public void commit(TransactionStatus status) {
+            }
+
+            @Override
+            public void rollback(TransactionStatus status) {
+            }
+        });
+    }
+
+    private interface Call {
+        Object invoke(String name, Object[] args) throws Exception;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Call call) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (p, method, args) -> call.invoke(method.getName(), args));
+    }
+
+    // checkins 테이블 대신: 퇴실 안 한 체크인 수를 좌석마다 셈
+    private static final class FakeCheckins {
+        private final AtomicLong ids = new AtomicLong();
+        private final Map<Long, Long> seatByCheckin = new ConcurrentHashMap<>();
+        private final Map<Long, AtomicInteger> openBySeat = new ConcurrentHashMap<>();
+        private final AtomicInteger maxOpen = new AtomicInteger();
+
+        private volatile long blockedSeat = -1;
+        private volatile CountDownLatch entered;
+        private volatile CountDownLatch release;
+
+        void blockSeat(long seatId, CountDownLatch entered, CountDownLatch release) {
+            this.entered = entered;
+            this.release = release;
+            this.blockedSeat = seatId;
+        }
+
+        CheckinRepository checkinRepository() {
+            return proxy(CheckinRepository.class, (name, args) -> switch (name) {
+                case "findFirstByUserAndSeatOrderByCheckinTimeDesc" -> Optional.empty();
+                case "save" -> save((Checkin) args[0]);
+                case "updateStatus" -> 1;
+                case "checkoutById" -> close((Long) args[0]);
+                case "checkoutAllById" -> {
+                    int rows = 0;
+                    for (Object id : (Collection<?>) args[0]) rows += close((Long) id);
+                    yield rows;
+                }
+                default -> throw new UnsupportedOperationException(name);
+            });
+        }
+
+        private Checkin save(Checkin checkin) throws InterruptedException {
+            long seatId = checkin.getSeat().getId();
+            if (seatId == blockedSeat) {
+                entered.countDown();
+                release.await();
+            }
+
+            int open = openBySeat.computeIfAbsent(seatId, k -> new AtomicInteger()).incrementAndGet();
+            maxOpen.accumulateAndGet(open, Math::max);
+            Thread.yield();   // 다른 스레드가 끼어들 틈
+
+            long id = ids.incrementAndGet();
+            seatByCheckin.put(id, seatId);
+            return Checkin.builder()
+                    .id(id)
+                    .user(checkin.getUser())
+                    .seat(checkin.getSeat())
+                    .status(checkin.getStatus())
+                    .checkinTime(LocalDateTime.now())
+                    .build();
+        }
+
+        // 이미 퇴실한 행이면 0
+        private int close(long checkinId) {
+            Long seatId = seatByCheckin.remove(checkinId);
+            if (seatId == null) return 0;
+            openBySeat.get(seatId).decrementAndGet();
+            return 1;
+        }
+
+        int maxOpenPerSeat() {
+            return maxOpen.get();
+        }
+
+        int openTotal() {
+            return openBySeat.values().stream().mapToInt(AtomicInteger::get).sum();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.socket.server;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 연결별 송신 대기열 정책 (COALESCE / DROP_OLDEST / 가득 참 / 밀림 시간)
+class OutboundQueueTests {
+
+    private static final int CAPACITY = 4;
+
+    private final OutboundQueue queue = new OutboundQueue(new OutboundQueue.Config(
+            CAPACITY, Set.of("DASHBOARD_UPDATE"), Set.of("SEAT_UPDATE")));
+
+    private static OutboundFrame frame(String type, Integer floor, String room, String msg) {
+        return OutboundFrame.of(SocketMessage.builder().type(type).floor(floor).room(room).msg(msg).build());
+    }
+
+    private List<String> drain() {
+        List<String> msgs = new ArrayList<>();
+        OutboundFrame f;
+        while ((f = queue.poll()) != null) {
+            msgs.add(f.message().getMsg());
+        }
+        return msgs;
+    }
+
+    // ─────────────────────── COALESCE ───────────────────────
+
+    @Test
+    void coalesceKeepsOnlyLatestPerTypeFloorRoom() {
+        assertTrue(queue.offer(frame("SEAT_UPDATE", 1, "A", "a1")));
+        assertTrue(queue.offer(frame("SEAT_UPDATE", 1, "B", "b1")));
+        assertTrue(queue.offer(frame("SEAT_UPDATE", 1, "A", "a2")));
+        assertTrue(queue.offer(frame("SEAT_UPDATE", 2, "A", "2a")));
+
+        // 1층 A 옛것만 빠지고 새것은 맨 뒤로
+        assertEquals(List.of("b1", "a2", "2a"), drain());
+        assertEquals(1, queue.stats().coalesced());
+        assertEquals(0, queue.stats().dropped());
+    }
+
+    @Test
+    void coalesceDoesNotTouchOtherTypes() {
+        queue.offer(frame("CHAT", 1, "A", "c1"));
+        queue.offer(frame("CHAT", 1, "A", "c2"));
+        queue.offer(frame("SEAT_UPDATE", 1, "A", "s1"));
+        queue.offer(frame("SEAT_UPDATE", 1, "A", "s2"));
+
+        assertEquals(List.of("c1", "c2", "s2"), drain());
+    }
+
+    @Test
+    void coalesceMakesRoomInFullQueue() {
+        queue.offer(frame("SEAT_UPDATE", 1, "A", "s1"));
+        queue.offer(frame("CHAT", 1, "A", "c1"));
+        queue.offer(frame("CHAT", 1, "A", "c2"));
+        queue.offer(frame("CHAT", 1, "A", "c3"));
+
+        // 가득 찼어도 같은 키의 옛 스냅샷을 빼고 들어감 (버림 없음)
+        assertTrue(queue.offer(frame("SEAT_UPDATE", 1, "A", "s2")));
+        assertEquals(List.of("c1", "c2", "c3", "s2"), drain());
+        assertEquals(0, queue.stats().dropped());
+    }
+
+    // ─────────────────────── DROP_OLDEST ───────────────────────
+
+    @Test
+    void dropOldestEvictsOldestDroppableFrame() {
+        queue.offer(frame("DASHBOARD_UPDATE", 1, "A", "d1"));
+        queue.offer(frame("CHAT", 1, "A", "c1"));
+        queue.offer(frame("DASHBOARD_UPDATE", 1, "A", "d2"));
+        queue.offer(frame("CHAT", 1, "A", "c2"));
+
+        assertTrue(queue.offer(frame("DASHBOARD_UPDATE", 1, "A", "d3")));
+        assertTrue(queue.offer(frame("CHAT", 1, "A", "c3")));
+
+        assertEquals(List.of("c1", "c2", "d3", "c3"), drain());
+        assertEquals(2, queue.stats().dropped());
+    }
+
+    // ─────────────────────── 가득 참 ───────────────────────
+
+    @Test
+    void fullQueueWithoutDroppableFramesRejectsNewFrame() {
+        for (int i = 1; i <= CAPACITY; i++) {
+            assertTrue(queue.offer(frame("CHAT", 1, "A", "c" + i)));
+        }
+
+        assertFalse(queue.offer(frame("CHAT", 1, "A", "c5")));
+        assertFalse(queue.offer(frame("DASHBOARD_UPDATE", 1, "A", "d1")));
+
+        assertEquals(CAPACITY, queue.depth());
+        assertEquals(2, queue.stats().dropped());
+        assertEquals(List.of("c1", "c2", "c3", "c4"), drain());
+    }
+
+    @Test
+    void closedQueueRejectsAndEmpties() throws Exception {
+        queue.offer(frame("CHAT", 1, "A", "c1"));
+        queue.close();
+
+        assertFalse(queue.offer(frame("CHAT", 1, "A", "c2")));
+        assertEquals(0, queue.depth());
+        assertNull(queue.take());
+    }
+
+    // ─────────────────────── backlogMillis ───────────────────────
+
+    @Test
+    void backlogStartsWhenFullAndClearsAtHalfCapacity() {
+        long now = System.currentTimeMillis();
+        assertEquals(0, queue.backlogMillis(now));
+
+        for (int i = 1; i < CAPACITY; i++) {
+            queue.offer(frame("CHAT", 1, "A", "c" + i));
+        }
+        assertEquals(0, queue.backlogMillis(now + 1000));
+
+        long before = System.currentTimeMillis();
+        queue.offer(frame("CHAT", 1, "A", "c" + CAPACITY));
+        long after = System.currentTimeMillis();
+
+        // 가득 찬 시각부터 셈
+        long later = after + 5000;
+        long backlog = queue.backlogMillis(later);
+        assertTrue(backlog >= later - after && backlog <= later - before, "backlog " + backlog);
+
+        // 한 칸 비어도 그대로 (깜빡임 방지)
+        queue.poll();
+        assertTrue(queue.backlogMillis(later) > 0);
+
+        // 절반(capacity / 2) 까지 빠지면 해제
+        queue.poll();
+        assertEquals(0, queue.backlogMillis(later));
+    }
+
+    @Test
+    void backlogKeepsStartTimeWhileRejecting() {
+        for (int i = 1; i <= CAPACITY; i++) {
+            queue.offer(frame("CHAT", 1, "A", "c" + i));
+        }
+        long later = System.currentTimeMillis() + 5000;
+        long first = queue.backlogMillis(later);
+
+        queue.offer(frame("CHAT", 1, "A", "rejected"));
+        assertEquals(first, queue.backlogMillis(later));
+    }
+
+    @Test
+    void closeClearsBacklog() {
+        for (int i = 1; i <= CAPACITY; i++) {
+            queue.offer(frame("CHAT", 1, "A", "c" + i));
+        }
+        assertTrue(queue.backlogMillis(System.currentTimeMillis() + 1000) > 0);
+
+        queue.close();
+        assertEquals(0, queue.backlogMillis(System.currentTimeMillis() + 1000));
+    }
+}
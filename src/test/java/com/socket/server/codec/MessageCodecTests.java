@@ -0,0 +1,199 @@
+package com.socket.server.codec;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.socket.server.MessageType;
+import com.socket.server.SocketMessage;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 손으로 쓴 코덱이 기존 Gson 출력과 호환되는지 확인
+class MessageCodecTests {
+
+    private static final Gson gson = new Gson();
+
+    private final JsonMessageCodec json = new JsonMessageCodec();
+    private final BinaryMessageCodec binary = new BinaryMessageCodec();
+
+    // ─────────────────────── 샘플 메시지 ───────────────────────
+
+    private static List<SocketMessage> samples() {
+        List<SocketMessage.SeatInfo> seats = new ArrayList<>();
+        for (int i = 1; i <= 30; i++) {
+            seats.add(SocketMessage.SeatInfo.builder()
+                    .seatNo(i)
+                    .state(i % 3 == 0 ? "IN_USE" : i % 5 == 0 ? "AWAY" : "EMPTY")
+                    .userId(i % 3 == 0 ? "user" + i : null)
+                    .remainSeconds(i % 3 == 0 ? 3600 - i : null)
+                    .build());
+        }
+
+        return List.of(
+                SocketMessage.builder().type("JOIN").floor(1).room("A").role("USER").sender("kim").build(),
+                SocketMessage.builder().type("JOIN").floor(2).role("USER").sender("lee").protocol("BINARY").build(),
+                SocketMessage.builder().type("CHAT").floor(3).room(null).role("USER").sender("홍길동")
+                        .msg("안녕하세요 <b>\"hi\"</b> & 'bye' \\ \n 😀  ").build(),
+                SocketMessage.builder().type("ADMIN_CHAT").floor(-1).role("ADMIN").sender("admin").msg("공지").build(),
+                SocketMessage.builder().type("CHECKIN").floor(1).room("B").seatNo(12).userId("20251234").build(),
+                SocketMessage.builder().type("SENSOR_DATA").temp(23.456789).co2(612.0).lux(1.0E-7).build(),
+                SocketMessage.builder().type("DASHBOARD_UPDATE").floor(5).room("A").role("SYSTEM").sender("SYSTEM")
+                        .temp(-3.5).co2(1.0E10).lux(0.0).build(),
+                SocketMessage.builder().type("SEAT_UPDATE").floor(1).room("A").role("SYSTEM").sender("SYSTEM")
+                        .seats(seats).build(),
+                SocketMessage.builder().type("SEAT_UPDATE").floor(1).room("A").seats(List.of()).build(),
+                SocketMessage.builder().type("SEAT_UPDATE").floor(2).room("B").role("SYSTEM").sender("SYSTEM")
+                        .seats(seats.subList(0, 3)).version(0L).build(),
+                SocketMessage.builder().type("SEAT_DELTA").floor(6).role("SYSTEM").sender("SYSTEM")
+                        .seats(seats.subList(4, 5)).version(1L << 40).build(),
+                SocketMessage.builder().type("SOMETHING_NEW").role("GUEST").build(),
+                SocketMessage.builder().build()
+        );
+    }
+
+    // ─────────────────────── JSON ───────────────────────
+
+    @Test
+    void jsonEncodeMatchesGsonBytes() {
+        for (SocketMessage m : samples()) {
+            String expected = gson.toJson(m) + "\n";
+            assertEquals(expected, new String(json.encode(m), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void jsonDecodeOfGsonOutputRoundTrips() {
+        for (SocketMessage m : samples()) {
+            String line = gson.toJson(m);
+            SocketMessage decoded = json.decode(line);
+            assertEquals(line, gson.toJson(decoded));
+        }
+    }
+
+    @Test
+    void gsonCanReadCodecOutput() {
+        for (SocketMessage m : samples()) {
+            String line = new String(json.encode(m), StandardCharsets.UTF_8).trim();
+            assertEquals(gson.toJson(m), gson.toJson(gson.fromJson(line, SocketMessage.class)));
+        }
+    }
+
+    @Test
+    void jsonDecodeAcceptsWhatGsonAccepts() {
+        String line = "{'type':'chat', \"floor\":\"3\", \"room\":null, \"msg\":true, \"seatNo\":7,"
+                + " \"temp\":\"21.5\", \"unknown\":{\"a\":[1,2,{\"b\":null}]},"
+                + " \"seats\":[{\"seatNo\":1,\"state\":\"EMPTY\",\"extra\":1}, null]}";
+
+        SocketMessage ours = json.decode(line);
+        SocketMessage theirs = gson.fromJson(line, SocketMessage.class);
+
+        // type 만 enum 이름으로 정리되고 나머지는 Gson 과 동일
+        assertEquals("CHAT", ours.getType());
+        ours.setType(theirs.getType());
+        assertEquals(gson.toJson(theirs), gson.toJson(ours));
+    }
+
+    @Test
+    void jsonDecodeEdgeCasesMatchGson() {
+        assertNull(json.decode(""));
+        assertNull(gson.fromJson("", SocketMessage.class));
+
+        assertNull(json.decode("null"));
+
+        assertThrows(JsonSyntaxException.class, () -> json.decode("{\"type\":\"CHAT\"} {}"));
+        assertThrows(JsonSyntaxException.class, () -> json.decode("{\"type\":"));
+        assertThrows(JsonSyntaxException.class, () -> json.decode("{\"floor\":1.5}"));
+        assertThrows(JsonSyntaxException.class, () -> json.decode("[1,2]"));
+    }
+
+    @Test
+    void typeDecodesToEnumCaseInsensitively() {
+        assertSame(MessageType.SEAT_STATUS_REQUEST,
+                json.decode("{\"type\":\"seat_status_request\"}").getMessageType());
+        SocketMessage chat = json.decode("{\"type\":\"Chat\"}");
+        assertSame(MessageType.CHAT, chat.getMessageType());
+        assertSame(MessageType.CHAT.name(), chat.getType());
+
+        // 모르는 type 은 원래 문자열 그대로, enum 은 null
+        SocketMessage unknown = json.decode("{\"type\":\"whatever\"}");
+        assertEquals("whatever", unknown.getType());
+        assertNull(unknown.getMessageType());
+        assertNull(MessageType.from("whatever"));
+        assertNull(MessageType.from("CHAT_WITH_A_VERY_LONG_UNKNOWN_NAME"));
+        assertNull(MessageType.from(""));
+    }
+
+    @Test
+    void binaryDecodeSetsMessageType() {
+        for (SocketMessage m : samples()) {
+            SocketMessage decoded = binary.decode(bodyOf(binary.encode(m)));
+            assertSame(MessageType.from(m.getType()), decoded.getMessageType());
+        }
+    }
+
+    @Test
+    void setTypeKeepsMessageTypeInSync() {
+        SocketMessage m = SocketMessage.builder().type("PING").build();
+        assertSame(MessageType.PING, m.getMessageType());
+
+        m.setType("checkout");
+        assertSame(MessageType.CHECKOUT, m.getMessageType());
+
+        m.setType(MessageType.PONG);
+        assertEquals("PONG", m.getType());
+        assertSame(MessageType.PONG, m.getMessageType());
+    }
+
+    // ─────────────────────── 바이너리 ───────────────────────
+
+    @Test
+    void binaryRoundTripsEveryField() {
+        for (SocketMessage m : samples()) {
+            byte[] frame = binary.encode(m);
+            assertEquals(BinaryMessageCodec.MAGIC, frame[0]);
+
+            SocketMessage decoded = binary.decode(bodyOf(frame));
+
+            // 센서 값은 float 로 보내므로 float 정밀도로 비교
+            assertFloat(m.getTemp(), decoded.getTemp());
+            assertFloat(m.getCo2(), decoded.getCo2());
+            assertFloat(m.getLux(), decoded.getLux());
+            decoded.setTemp(m.getTemp());
+            decoded.setCo2(m.getCo2());
+            decoded.setLux(m.getLux());
+
+            assertEquals(gson.toJson(m), gson.toJson(decoded));
+        }
+    }
+
+    @Test
+    void binaryRejectsTruncatedFrames() {
+        SocketMessage seat = samples().get(7);
+        byte[] body = bodyOf(binary.encode(seat));
+
+        for (int len = 0; len < body.length; len++) {
+            byte[] cut = java.util.Arrays.copyOf(body, len);
+            assertThrows(IllegalArgumentException.class, () -> binary.decode(cut));
+        }
+    }
+
+    // MAGIC + 길이(varint) 떼기
+    private static byte[] bodyOf(byte[] frame) {
+        int pos = 1;
+        while ((frame[pos] & 0x80) != 0) pos++;
+        pos++;
+        return java.util.Arrays.copyOfRange(frame, pos, frame.length);
+    }
+
+    private static void assertFloat(Double expected, Double actual) {
+        if (expected == null) {
+            assertNull(actual);
+        } else {
+            assertEquals((float) expected.doubleValue(), actual.floatValue());
+        }
+    }
+}